@@ -0,0 +1,70 @@
+package com.linkedin.coreservice.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Cost of writing one 401 body. templated is ErrorResponseWriter; perRequestMapper is the
+// entry point it replaced, which built a map and a new ObjectMapper per rejection. The old
+// mapper had no java.time support and failed on the timestamp, so modules are registered here
+// to let it complete. Log output is left out of both, and both pay for a fresh mock response.
+//
+// ./gradlew jmh reports gc.alloc.rate.norm, the bytes allocated per rejection
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RejectionResponseBenchmark {
+    
+    private final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/42");
+    
+    @Setup
+    public void setUp() {
+        request.setServletPath("/api/users/42");
+    }
+    
+    @Benchmark
+    public MockHttpServletResponse templated() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        errorResponseWriter.write(response, ErrorResponseWriter.Rejection.UNAUTHORIZED);
+        return response;
+    }
+    
+    @Benchmark
+    public MockHttpServletResponse perRequestMapper() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(MockHttpServletResponse.SC_UNAUTHORIZED);
+        
+        Map<String, Object> body = new HashMap<>();
+        body.put("success", false);
+        body.put("message", "Unauthorized");
+        body.put("error", "Full authentication is required to access this resource");
+        body.put("timestamp", LocalDateTime.now());
+        body.put("path", request.getServletPath());
+        
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        mapper.writeValue(response.getOutputStream(), body);
+        return response;
+    }
+}
@@ -0,0 +1,78 @@
+package com.linkedin.coreservice.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Token verification as done by JwtRequestFilter per request. reparsePerClaim is the path
+// before single-parse verification: a key and parser built for every parse, and three parses
+// (username, username again inside validateToken, expiration). parseOnce is the current path.
+//
+// ./gradlew jmh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    
+    private static final String SECRET =
+            "JZL7u9+n+6MH6xZjeT/qP5ZPS1Xh7EPl9uExkXIVnmf4Z0hJ3xMCaVnXWl99q9ukSktAbUqROU18HEjd2AHs3Pw==";
+    
+    private JwtUtil jwtUtil;
+    private String token;
+    private UserDetails userDetails;
+    
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        jwtUtil.init();
+        
+        token = jwtUtil.generateToken("jane.doe@example.com", 42L);
+        userDetails = User.withUsername("jane.doe@example.com")
+                .password("unused")
+                .authorities("ROLE_USER")
+                .build();
+    }
+    
+    @Benchmark
+    public boolean reparsePerClaim() {
+        String username = legacyParse(token).getSubject();
+        return username.equals(userDetails.getUsername())
+                && legacyParse(token).getSubject().equals(userDetails.getUsername())
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+    
+    @Benchmark
+    public boolean parseOnce() {
+        Claims claims = jwtUtil.parseToken(token);
+        return jwtUtil.validateToken(claims, userDetails);
+    }
+    
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -3,9 +3,11 @@ package com.linkedin.coreservice.config;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @EnableJpaAuditing
 @EnableAsync
+@EnableScheduling
 public class ApplicationConfig {
 }
@@ -0,0 +1,13 @@
+package com.linkedin.coreservice.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Cache sizes and TTLs are configured through spring.cache.caffeine.spec
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String USERS_BY_ID = "usersById";
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+}
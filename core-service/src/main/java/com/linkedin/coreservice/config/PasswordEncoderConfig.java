@@ -1,5 +1,8 @@
 package com.linkedin.coreservice.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -8,8 +11,35 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class PasswordEncoderConfig {
     
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+    
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+    
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${password.hash.bcrypt.strength:12}") int strength,
+                                           @Value("${password.hash.bcrypt.target-millis:250}") long targetMillis) {
+        int resolvedStrength = strength > 0 ? strength : calibrateStrength(targetMillis);
+        logger.info("Using BCrypt strength {}", resolvedStrength);
+        return new BCryptPasswordEncoder(resolvedStrength);
+    }
+    
+    // Each extra round doubles the work, so one measurement at the minimum strength is enough
+    private int calibrateStrength(long targetMillis) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        probe.encode("calibration-warmup");
+        
+        long start = System.nanoTime();
+        probe.encode("calibration-sample");
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH && elapsedMillis * 2 <= targetMillis) {
+            strength++;
+            elapsedMillis *= 2;
+        }
+        
+        logger.info("Calibrated BCrypt strength {} for a {} ms target", strength, targetMillis);
+        return strength;
     }
 }
@@ -1,10 +1,12 @@
 package com.linkedin.coreservice.config;
 
+import com.linkedin.coreservice.security.ErrorResponseWriter;
 import com.linkedin.coreservice.security.JwtAuthenticationEntryPoint;
 import com.linkedin.coreservice.security.JwtRequestFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -26,12 +28,15 @@ public class SecurityConfig {
     
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtRequestFilter jwtRequestFilter;
+    private final ErrorResponseWriter errorResponseWriter;
     
     @Autowired
     public SecurityConfig(JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint, 
-                         JwtRequestFilter jwtRequestFilter) {
+                         JwtRequestFilter jwtRequestFilter,
+                         ErrorResponseWriter errorResponseWriter) {
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
         this.jwtRequestFilter = jwtRequestFilter;
+        this.errorResponseWriter = errorResponseWriter;
     }
     
     @Bean
@@ -42,7 +47,11 @@ public class SecurityConfig {
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.cors().and().csrf().disable()
-                .exceptionHandling().authenticationEntryPoint(jwtAuthenticationEntryPoint).and()
+                .exceptionHandling()
+                        .authenticationEntryPoint(jwtAuthenticationEntryPoint)
+                        .accessDeniedHandler((request, response, accessDeniedException) ->
+                                errorResponseWriter.write(response, ErrorResponseWriter.Rejection.FORBIDDEN))
+                        .and()
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
                 .authorizeHttpRequests(authz -> authz
                         // Public endpoints
@@ -50,6 +59,8 @@ public class SecurityConfig {
                         .requestMatchers("/actuator/health", "/actuator/info").permitAll()
                         .requestMatchers("/api/health").permitAll()
                         .requestMatchers("/error").permitAll()
+                        // Media is content-addressed and embedded by URL in posts
+                        .requestMatchers(HttpMethod.GET, "/api/media/**").permitAll()
                         // Protected endpoints
                         .requestMatchers("/api/auth/profile").authenticated()
                         .requestMatchers("/api/users/**").authenticated()
@@ -4,18 +4,31 @@ import com.linkedin.coreservice.dto.ApiResponse;
 import com.linkedin.coreservice.dto.LoginRequest;
 import com.linkedin.coreservice.dto.UserRegistrationRequest;
 import com.linkedin.coreservice.entity.User;
+import com.linkedin.coreservice.exception.TooManyRequestsException;
+import com.linkedin.coreservice.security.ErrorResponseWriter;
+import com.linkedin.coreservice.security.LoginRateLimiter;
+import com.linkedin.coreservice.security.UserPrincipal;
+import com.linkedin.coreservice.security.VerifiedTokenCache;
+import com.linkedin.coreservice.service.ProfileCacheService;
 import com.linkedin.coreservice.service.UserService;
 import com.linkedin.coreservice.util.JwtUtil;
+import com.linkedin.coreservice.util.UserMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,11 +42,24 @@ public class AuthController {
     
     private final UserService userService;
     private final JwtUtil jwtUtil;
+    private final LoginRateLimiter loginRateLimiter;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final ProfileCacheService profileCacheService;
     
     @Autowired
-    public AuthController(UserService userService, JwtUtil jwtUtil) {
+    public AuthController(UserService userService,
+                          JwtUtil jwtUtil,
+                          LoginRateLimiter loginRateLimiter,
+                          VerifiedTokenCache verifiedTokenCache,
+                          ErrorResponseWriter errorResponseWriter,
+                          ProfileCacheService profileCacheService) {
         this.userService = userService;
         this.jwtUtil = jwtUtil;
+        this.loginRateLimiter = loginRateLimiter;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.errorResponseWriter = errorResponseWriter;
+        this.profileCacheService = profileCacheService;
     }
     
     @PostMapping("/register")
@@ -44,11 +70,11 @@ public class AuthController {
         
         try {
             User user = userService.createUser(request);
-            String token = jwtUtil.generateToken(user.getEmail(), user.getId());
+            String token = jwtUtil.generateToken(user);
             
             // Create response data
             Map<String, Object> responseData = new HashMap<>();
-            responseData.put("user", sanitizeUser(user));
+            responseData.put("user", UserMapper.toSanitizedMap(user));
             responseData.put("token", token);
             
             logger.info("User registered successfully: {}", request.getEmail());
@@ -56,6 +82,8 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("User registered successfully", responseData));
                     
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         } catch (Exception e) {
             logger.error("Registration failed for email {}: {}", request.getEmail(), e.getMessage());
             return ResponseEntity.status(HttpStatus.CONFLICT)
@@ -65,17 +93,28 @@ public class AuthController {
     
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<Map<String, Object>>> login(
-            @Valid @RequestBody LoginRequest request) {
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) throws IOException {
+        
+        // Checked before logging or touching the database so a stuffing burst stays cheap;
+        // the response is written directly, so there is no entity to return. The remote address
+        // is the client's, resolved from X-Forwarded-For by server.forward-headers-strategy.
+        if (!loginRateLimiter.tryAcquire(httpRequest.getRemoteAddr(), request.getEmail())) {
+            httpResponse.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            errorResponseWriter.write(httpResponse, ErrorResponseWriter.Rejection.TOO_MANY_REQUESTS);
+            return null;
+        }
         
         logger.info("Login request for email: {}", request.getEmail());
         
         try {
             User user = userService.authenticate(request.getEmail(), request.getPassword());
-            String token = jwtUtil.generateToken(user.getEmail(), user.getId());
+            String token = jwtUtil.generateToken(user);
             
             // Create response data
             Map<String, Object> responseData = new HashMap<>();
-            responseData.put("user", sanitizeUser(user));
+            responseData.put("user", UserMapper.toSanitizedMap(user));
             responseData.put("token", token);
             
             logger.info("User logged in successfully: {}", request.getEmail());
@@ -83,6 +122,8 @@ public class AuthController {
             return ResponseEntity.ok(
                     ApiResponse.success("Login successful", responseData));
                     
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         } catch (Exception e) {
             logger.error("Login failed for email {}: {}", request.getEmail(), e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -91,20 +132,17 @@ public class AuthController {
     }
     
     @GetMapping("/profile")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getProfile(
-            @AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<?> getProfile(
+            @AuthenticationPrincipal UserPrincipal principal,
+            WebRequest request) {
         
         try {
-            User user = userService.findByEmail(userDetails.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-            
-            Map<String, Object> responseData = new HashMap<>();
-            responseData.put("user", sanitizeUser(user));
+            ProfileCacheService.CachedProfile profile = profileCacheService.getProfile(principal.getId());
             
-            return ResponseEntity.ok(ApiResponse.success("Profile retrieved successfully", responseData));
+            return ProfileResponses.conditional(profileCacheService, "Profile retrieved successfully", profile, request);
             
         } catch (Exception e) {
-            logger.error("Failed to get profile for user {}: {}", userDetails.getUsername(), e.getMessage());
+            logger.error("Failed to get profile for user {}: {}", principal.getUsername(), e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Internal server error"));
         }
@@ -117,20 +155,21 @@ public class AuthController {
         try {
             String token = authHeader.substring(7); // Remove "Bearer " prefix
             
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.extractUsername(token);
-                Long userId = jwtUtil.extractUserId(token);
-                
-                Map<String, String> responseData = new HashMap<>();
-                responseData.put("email", email);
-                responseData.put("userId", userId.toString());
-                
-                return ResponseEntity.ok(
-                        ApiResponse.success("Token is valid", responseData));
-            } else {
+            Claims claims;
+            try {
+                claims = verifiedTokenCache.verify(token);
+            } catch (JwtException e) {
+                logger.warn("Invalid or expired token: {}", e.getMessage());
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(ApiResponse.error("Invalid or expired token"));
             }
+            
+            Map<String, String> responseData = new HashMap<>();
+            responseData.put("email", claims.getSubject());
+            responseData.put("userId", jwtUtil.extractUserId(claims).toString());
+            
+            return ResponseEntity.ok(
+                    ApiResponse.success("Token is valid", responseData));
         } catch (Exception e) {
             logger.error("Token validation failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -138,21 +177,9 @@ public class AuthController {
         }
     }
     
-    // Helper method to remove sensitive data from user object
-    private Map<String, Object> sanitizeUser(User user) {
-        Map<String, Object> sanitizedUser = new HashMap<>();
-        sanitizedUser.put("id", user.getId());
-        sanitizedUser.put("email", user.getEmail());
-        sanitizedUser.put("firstName", user.getFirstName());
-        sanitizedUser.put("lastName", user.getLastName());
-        sanitizedUser.put("headline", user.getHeadline());
-        sanitizedUser.put("summary", user.getSummary());
-        sanitizedUser.put("profileImageUrl", user.getProfileImageUrl());
-        sanitizedUser.put("location", user.getLocation());
-        sanitizedUser.put("industry", user.getIndustry());
-        sanitizedUser.put("status", user.getStatus());
-        sanitizedUser.put("createdAt", user.getCreatedAt());
-        // Note: password is intentionally excluded
-        return sanitizedUser;
+    private <T> ResponseEntity<ApiResponse<T>> tooManyRequests(TooManyRequestsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(e.getMessage()));
     }
 }
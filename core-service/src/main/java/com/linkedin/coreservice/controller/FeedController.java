@@ -0,0 +1,65 @@
+package com.linkedin.coreservice.controller;
+
+import com.linkedin.coreservice.dto.ApiResponse;
+import com.linkedin.coreservice.dto.CursorPage;
+import com.linkedin.coreservice.dto.PostView;
+import com.linkedin.coreservice.security.UserPrincipal;
+import com.linkedin.coreservice.service.FeedService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/feed")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080", "http://localhost:8081"},
+             allowCredentials = "true")
+public class FeedController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FeedController.class);
+    private static final int MAX_PAGE_SIZE = 50;
+    
+    private final FeedService feedService;
+    
+    @Autowired
+    public FeedController(FeedService feedService) {
+        this.feedService = feedService;
+    }
+    
+    @GetMapping
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        try {
+            int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            CursorPage<PostView> feed = feedService.getFeed(principal.getId(), cursor, pageSize);
+            
+            Map<String, Object> pagination = new HashMap<>();
+            pagination.put("size", pageSize);
+            pagination.put("nextCursor", feed.getNextCursor());
+            pagination.put("hasNext", feed.hasNext());
+            
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("posts", feed.getContent());
+            responseData.put("pagination", pagination);
+            
+            return ResponseEntity.ok(ApiResponse.success("Feed retrieved successfully", responseData));
+            
+        } catch (NumberFormatException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Invalid cursor"));
+        } catch (Exception e) {
+            logger.error("Failed to retrieve feed for user {}: {}", principal.getId(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Internal server error"));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.linkedin.coreservice.controller;
+
+import com.linkedin.coreservice.dto.ApiResponse;
+import com.linkedin.coreservice.security.ErrorResponseWriter;
+import com.linkedin.coreservice.security.UserPrincipal;
+import com.linkedin.coreservice.service.MediaStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/media")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080", "http://localhost:8081"},
+             allowCredentials = "true")
+public class MediaController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MediaController.class);
+    
+    // Tomcat sends the file with sendfile(2) after the servlet returns when these are set
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    // Stored media never changes under its name
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+    
+    private final MediaStorageService mediaStorageService;
+    private final ErrorResponseWriter errorResponseWriter;
+    
+    @Autowired
+    public MediaController(MediaStorageService mediaStorageService, ErrorResponseWriter errorResponseWriter) {
+        this.mediaStorageService = mediaStorageService;
+        this.errorResponseWriter = errorResponseWriter;
+    }
+    
+    // The returned url can be passed as one of a post's mediaUrls
+    @PostMapping
+    public ResponseEntity<ApiResponse<Map<String, Object>>> uploadMedia(
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        try {
+            MediaStorageService.StoredMedia media = mediaStorageService.store(file);
+            
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("url", "/api/media/" + media.getName());
+            responseData.put("contentType", media.getContentType());
+            responseData.put("size", media.getSize());
+            
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Media uploaded successfully", responseData));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Failed to store media uploaded by user {}: {}", principal.getId(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Internal server error"));
+        }
+    }
+    
+    // Serves the file without copying it through the heap: by sendfile where the connector
+    // supports it, otherwise by FileChannel.transferTo. Honors a single byte range.
+    @GetMapping("/{name}")
+    public void getMedia(@PathVariable String name,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        Optional<MediaStorageService.StoredMedia> found = mediaStorageService.find(name);
+        if (found.isEmpty()) {
+            errorResponseWriter.write(response, ErrorResponseWriter.Rejection.NOT_FOUND);
+            return;
+        }
+        MediaStorageService.StoredMedia media = found.get();
+        
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(media.getEtag())) {
+            return;
+        }
+        
+        long size = media.getSize();
+        long start = 0;
+        long end = size - 1;
+        HttpRange range = requestedRange(request, media.getEtag());
+        if (range != null) {
+            try {
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size);
+            } catch (IllegalArgumentException e) {
+                rejectRange(response, size);
+                return;
+            }
+            // HttpRange does not reject a start past the end of the file
+            if (start >= size || start > end) {
+                rejectRange(response, size);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+        
+        long length = end - start + 1;
+        response.setContentType(media.getContentType());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+        
+        Path path = mediaStorageService.pathFor(media);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        
+        try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += source.transferTo(position, end + 1 - position, target);
+            }
+        } catch (IOException e) {
+            // Usually the client went away; it can resume with a range request
+            logger.warn("Sending media {} aborted: {}", name, e.getMessage());
+        }
+    }
+    
+    private void rejectRange(HttpServletResponse response, long size) throws IOException {
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+        errorResponseWriter.write(response, ErrorResponseWriter.Rejection.RANGE_NOT_SATISFIABLE);
+    }
+    
+    // A Range is ignored when If-Range names another version or when several ranges are asked
+    // for; the whole file is sent instead, as HTTP allows
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.linkedin.coreservice.controller;
+
+import com.linkedin.coreservice.dto.ApiResponse;
+import com.linkedin.coreservice.dto.CursorPage;
+import com.linkedin.coreservice.dto.PostRequest;
+import com.linkedin.coreservice.dto.PostView;
+import com.linkedin.coreservice.exception.PostNotFoundException;
+import com.linkedin.coreservice.security.UserPrincipal;
+import com.linkedin.coreservice.service.PostSearchService;
+import com.linkedin.coreservice.service.PostService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.RestClientException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+@RestController
+@RequestMapping("/api/posts")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080", "http://localhost:8081"},
+             allowCredentials = "true")
+public class PostController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PostController.class);
+    
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    
+    private final PostService postService;
+    private final PostSearchService postSearchService;
+    
+    @Autowired
+    public PostController(PostService postService, PostSearchService postSearchService) {
+        this.postService = postService;
+        this.postSearchService = postSearchService;
+    }
+    
+    @PostMapping
+    public ResponseEntity<ApiResponse<Map<String, Object>>> createPost(
+            @Valid @RequestBody PostRequest request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        try {
+            PostView post = postService.createPost(principal.getId(), request);
+            
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("post", post);
+            
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Post created successfully", responseData));
+            
+        } catch (Exception e) {
+            logger.error("Failed to create post for user {}: {}", principal.getId(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> searchPosts(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        try {
+            if (q.isBlank()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(ApiResponse.error("Search query must not be blank"));
+            }
+            int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+            CursorPage<PostView> results = postSearchService.search(q, principal.getId(), cursor, pageSize);
+            if (results == null) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body(ApiResponse.error("Post search is not available yet"));
+            }
+            
+            Map<String, Object> pagination = new HashMap<>();
+            pagination.put("size", pageSize);
+            pagination.put("nextCursor", results.getNextCursor());
+            pagination.put("hasNext", results.hasNext());
+            
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("posts", results.getContent());
+            responseData.put("pagination", pagination);
+            
+            return ResponseEntity.ok(ApiResponse.success("Posts retrieved successfully", responseData));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Invalid cursor"));
+        } catch (Exception e) {
+            logger.error("Failed to search posts: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Internal server error"));
+        }
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPost(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        try {
+            PostView post = postService.getPost(id, principal.getId());
+            
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("post", post);
+            
+            return ResponseEntity.ok(ApiResponse.success("Post retrieved successfully", responseData));
+            
+        } catch (PostNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Post not found"));
+        } catch (RestClientException e) {
+            // Visibility of a connections-only post cannot be decided without the graph service
+            logger.warn("Failed to check visibility of post {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error("Post temporarily unavailable"));
+        } catch (Exception e) {
+            logger.error("Failed to retrieve post with ID {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Internal server error"));
+        }
+    }
+    
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> updatePost(
+            @PathVariable Long id,
+            @Valid @RequestBody PostRequest request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        try {
+            PostView post = postService.updatePost(id, principal.getId(), request);
+            
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("post", post);
+            
+            return ResponseEntity.ok(ApiResponse.success("Post updated successfully", responseData));
+            
+        } catch (PostNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Post not found"));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Failed to update post with ID {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Internal server error"));
+        }
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deletePost(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        try {
+            postService.deletePost(id, principal.getId());
+            
+            return ResponseEntity.ok(ApiResponse.success("Post deleted successfully"));
+            
+        } catch (PostNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Post not found"));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Failed to delete post with ID {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Internal server error"));
+        }
+    }
+    
+    @PostMapping("/{id}/likes")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> likePost(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return likeResponse(id, "Post liked successfully",
+                () -> postService.likePost(id, principal.getId()));
+    }
+    
+    @DeleteMapping("/{id}/likes")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> unlikePost(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return likeResponse(id, "Post unliked successfully",
+                () -> postService.unlikePost(id, principal.getId()));
+    }
+    
+    private ResponseEntity<ApiResponse<Map<String, Object>>> likeResponse(
+            Long id, String message, LongSupplier action) {
+        
+        try {
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("likesCount", action.getAsLong());
+            
+            return ResponseEntity.ok(ApiResponse.success(message, responseData));
+            
+        } catch (PostNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Post not found"));
+        } catch (RestClientException e) {
+            logger.warn("Failed to check visibility of post {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error("Post temporarily unavailable"));
+        } catch (Exception e) {
+            logger.error("Failed to update likes of post with ID {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Internal server error"));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.linkedin.coreservice.controller;
+
+import com.linkedin.coreservice.service.ProfileCacheService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+// Conditional GET for cached profiles: If-None-Match / If-Modified-Since are checked against
+// the cached validators before any response body is assembled
+final class ProfileResponses {
+    
+    private ProfileResponses() {
+    }
+    
+    static ResponseEntity<?> conditional(ProfileCacheService profileCacheService, String message,
+                                         ProfileCacheService.CachedProfile profile, WebRequest request) {
+        // Clients may keep the profile but must revalidate it on every use
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        
+        if (request.checkNotModified(profile.getEtag(), profile.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .eTag(profile.getEtag())
+                    .lastModified(profile.getLastModified())
+                    .build();
+        }
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl)
+                .eTag(profile.getEtag())
+                .lastModified(profile.getLastModified())
+                .body(profileCacheService.toSuccessResponse(message, profile.getJson()));
+    }
+}
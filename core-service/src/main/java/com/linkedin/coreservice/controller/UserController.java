@@ -1,9 +1,19 @@
 package com.linkedin.coreservice.controller;
 
 import com.linkedin.coreservice.dto.ApiResponse;
+import com.linkedin.coreservice.dto.CursorPage;
+import com.linkedin.coreservice.dto.UserCard;
 import com.linkedin.coreservice.dto.UserRegistrationRequest;
+import com.linkedin.coreservice.dto.UserSuggestion;
 import com.linkedin.coreservice.entity.User;
+import com.linkedin.coreservice.exception.TooManyRequestsException;
+import com.linkedin.coreservice.service.ProfileCacheService;
+import com.linkedin.coreservice.service.UserExportService;
 import com.linkedin.coreservice.service.UserService;
+import com.linkedin.coreservice.service.UserStatisticsService;
+import com.linkedin.coreservice.service.UserTypeaheadService;
+import com.linkedin.coreservice.util.UserMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,11 +28,13 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/users")
@@ -31,12 +43,28 @@ import java.util.stream.Collectors;
 public class UserController {
     
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_TYPEAHEAD_LIMIT = 20;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final Set<String> SORTABLE_COLUMNS = Set.of("createdAt");
     
     private final UserService userService;
+    private final ProfileCacheService profileCacheService;
+    private final UserTypeaheadService userTypeaheadService;
+    private final UserStatisticsService userStatisticsService;
+    private final UserExportService userExportService;
     
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService,
+                          ProfileCacheService profileCacheService,
+                          UserTypeaheadService userTypeaheadService,
+                          UserStatisticsService userStatisticsService,
+                          UserExportService userExportService) {
         this.userService = userService;
+        this.profileCacheService = profileCacheService;
+        this.userTypeaheadService = userTypeaheadService;
+        this.userStatisticsService = userStatisticsService;
+        this.userExportService = userExportService;
     }
     
     @GetMapping
@@ -47,25 +75,36 @@ public class UserController {
             @RequestParam(defaultValue = "desc") String sortDir,
             @RequestParam(required = false) String industry,
             @RequestParam(required = false) String location,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         
         try {
-            Sort sort = sortDir.equalsIgnoreCase("desc") 
-                ? Sort.by(sortBy).descending() 
-                : Sort.by(sortBy).ascending();
+            // Passing a cursor (empty for the first page) switches to keyset pagination on createdAt, id
+            if (cursor != null) {
+                return ResponseEntity.ok(ApiResponse.success("Users retrieved successfully",
+                    cursorPageResponse(industry, location, search, cursor, size, includeTotal)));
+            }
+            
+            // Only columns that lead an index after the status filter can be sorted without a filesort
+            if (!SORTABLE_COLUMNS.contains(sortBy)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(ApiResponse.error("Unsupported sortBy: " + sortBy + "; supported: " + SORTABLE_COLUMNS));
+            }
+            Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+            Sort sort = Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
                 
             Pageable pageable = PageRequest.of(page, size, sort);
             
-            Page<User> userPage;
+            Page<UserCard> userPage;
             if (industry != null || location != null || search != null) {
                 userPage = userService.searchUsers(industry, location, search, pageable);
             } else {
                 userPage = userService.findAllActiveUsers(pageable);
             }
             
-            List<Map<String, Object>> users = userPage.getContent().stream()
-                    .map(this::sanitizeUser)
-                    .collect(Collectors.toList());
+            // Cards carry no password or summary and are serialized as they are
+            List<UserCard> users = userPage.getContent();
             
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("users", users);
@@ -78,6 +117,9 @@ public class UserController {
             
             return ResponseEntity.ok(ApiResponse.success("Users retrieved successfully", responseData));
             
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             logger.error("Failed to retrieve users: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -86,14 +128,12 @@ public class UserController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getUserById(@PathVariable Long id) {
+    public ResponseEntity<?> getUserById(@PathVariable Long id, WebRequest request) {
         try {
-            User user = userService.findById(id);
+            // Served from the pre-serialized profile cache; no entity or map is built on a hit
+            ProfileCacheService.CachedProfile profile = profileCacheService.getProfile(id);
             
-            Map<String, Object> responseData = new HashMap<>();
-            responseData.put("user", sanitizeUser(user));
-            
-            return ResponseEntity.ok(ApiResponse.success("User retrieved successfully", responseData));
+            return ProfileResponses.conditional(profileCacheService, "User retrieved successfully", profile, request);
             
         } catch (Exception e) {
             logger.error("Failed to retrieve user with ID {}: {}", id, e.getMessage());
@@ -103,7 +143,7 @@ public class UserController {
     }
     
     @PutMapping("/{id}")
-    @PreAuthorize("authentication.name == @userService.findById(#id).email")
+    @PreAuthorize("@userSecurity.isSelf(authentication, #id)")
     public ResponseEntity<ApiResponse<Map<String, Object>>> updateUser(
             @PathVariable Long id,
             @Valid @RequestBody UserRegistrationRequest request,
@@ -113,12 +153,15 @@ public class UserController {
             User updatedUser = userService.updateUser(id, request);
             
             Map<String, Object> responseData = new HashMap<>();
-            responseData.put("user", sanitizeUser(updatedUser));
+            responseData.put("user", UserMapper.toSanitizedMap(updatedUser));
             
             logger.info("User updated successfully with ID: {}", id);
             
             return ResponseEntity.ok(ApiResponse.success("User updated successfully", responseData));
             
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             logger.error("Failed to update user with ID {}: {}", id, e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -127,7 +170,7 @@ public class UserController {
     }
     
     @DeleteMapping("/{id}")
-    @PreAuthorize("authentication.name == @userService.findById(#id).email")
+    @PreAuthorize("@userSecurity.isSelf(authentication, #id)")
     public ResponseEntity<ApiResponse<Void>> deleteUser(@PathVariable Long id) {
         try {
             userService.deleteUser(id);
@@ -149,17 +192,23 @@ public class UserController {
             @RequestParam(required = false) String location,
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         
         try {
+            if (cursor != null) {
+                return ResponseEntity.ok(ApiResponse.success("Search completed successfully",
+                    cursorPageResponse(industry, location, search, cursor, size, includeTotal)));
+            }
+            
             Pageable pageable = PageRequest.of(page, size, 
                 Sort.by(Sort.Direction.DESC, "createdAt"));
             
-            Page<User> userPage = userService.searchUsers(industry, location, search, pageable);
+            Page<UserCard> userPage = userService.searchUsers(industry, location, search, pageable);
             
-            List<Map<String, Object>> users = userPage.getContent().stream()
-                    .map(this::sanitizeUser)
-                    .collect(Collectors.toList());
+            // Cards carry no password or summary and are serialized as they are
+            List<UserCard> users = userPage.getContent();
             
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("users", users);
@@ -172,6 +221,9 @@ public class UserController {
             
             return ResponseEntity.ok(ApiResponse.success("Search completed successfully", responseData));
             
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             logger.error("Failed to search users: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -179,13 +231,70 @@ public class UserController {
         }
     }
     
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getUsersByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("At most " + MAX_BATCH_SIZE + " ids can be requested at once"));
+        }
+        
+        try {
+            List<UserCard> users = userService.findActiveCardsByIds(ids);
+            
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("users", users);
+            
+            return ResponseEntity.ok(ApiResponse.success("Users retrieved successfully", responseData));
+            
+        } catch (Exception e) {
+            logger.error("Failed to retrieve users by ids: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Internal server error"));
+        }
+    }
+    
+    // Streams users as NDJSON ordered by id; pass the last id received as afterId to resume
+    @GetMapping("/export")
+    public void exportUsers(@RequestParam(defaultValue = "0") long afterId,
+                            HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        
+        try {
+            long count = userExportService.exportCards(afterId, response.getOutputStream());
+            logger.info("Exported {} users after ID {}", count, afterId);
+        } catch (IOException e) {
+            // Usually the client went away; it can resume from the last complete line
+            logger.warn("User export after ID {} aborted: {}", afterId, e.getMessage());
+        }
+    }
+    
+    @GetMapping("/typeahead")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> typeahead(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        try {
+            List<UserSuggestion> suggestions = userTypeaheadService.suggest(q,
+                Math.max(1, Math.min(limit, MAX_TYPEAHEAD_LIMIT)));
+            
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("suggestions", suggestions);
+            
+            return ResponseEntity.ok(ApiResponse.success("Suggestions retrieved successfully", responseData));
+            
+        } catch (Exception e) {
+            logger.error("Failed to retrieve suggestions: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Internal server error"));
+        }
+    }
+    
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getUserStats() {
         try {
-            long totalUsers = userService.getActiveUserCount();
-            
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("totalActiveUsers", totalUsers);
+            // Served from in-memory counters; no COUNT query per request
+            Map<String, Object> stats = userStatisticsService.getStatistics();
             
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("stats", stats);
@@ -199,21 +308,25 @@ public class UserController {
         }
     }
     
-    // Helper method to remove sensitive data from user object
-    private Map<String, Object> sanitizeUser(User user) {
-        Map<String, Object> sanitizedUser = new HashMap<>();
-        sanitizedUser.put("id", user.getId());
-        sanitizedUser.put("email", user.getEmail());
-        sanitizedUser.put("firstName", user.getFirstName());
-        sanitizedUser.put("lastName", user.getLastName());
-        sanitizedUser.put("headline", user.getHeadline());
-        sanitizedUser.put("summary", user.getSummary());
-        sanitizedUser.put("profileImageUrl", user.getProfileImageUrl());
-        sanitizedUser.put("location", user.getLocation());
-        sanitizedUser.put("industry", user.getIndustry());
-        sanitizedUser.put("status", user.getStatus());
-        sanitizedUser.put("createdAt", user.getCreatedAt());
-        // Note: password is intentionally excluded
-        return sanitizedUser;
+    private Map<String, Object> cursorPageResponse(String industry, String location, String search,
+                                                   String cursor, int size, boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        CursorPage<UserCard> userPage = userService.findActiveUsersAfter(industry, location, search, cursor, pageSize);
+        
+        List<UserCard> users = userPage.getContent();
+        
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("size", pageSize);
+        pagination.put("nextCursor", userPage.getNextCursor());
+        pagination.put("hasNext", userPage.hasNext());
+        // Totals are opt-in and only offered for the unfiltered listing, where a single status count answers it
+        if (includeTotal && industry == null && location == null && search == null) {
+            pagination.put("total", userStatisticsService.getActiveUserCount());
+        }
+        
+        Map<String, Object> responseData = new HashMap<>();
+        responseData.put("users", users);
+        responseData.put("pagination", pagination);
+        return responseData;
     }
 }
@@ -0,0 +1,27 @@
+package com.linkedin.coreservice.dto;
+
+import java.util.List;
+
+public class CursorPage<T> {
+    
+    private final List<T> content;
+    private final String nextCursor;
+    
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<T> getContent() {
+        return content;
+    }
+    
+    // Null when this is the last page
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.linkedin.coreservice.dto;
+
+import com.linkedin.coreservice.entity.Post;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class PostRequest {
+    
+    @NotBlank(message = "Content is required")
+    @Size(max = 10000, message = "Content must not exceed 10000 characters")
+    private String content;
+    
+    private Post.PostVisibility visibility;
+    
+    private List<String> mediaUrls;
+    
+    // Constructors
+    public PostRequest() {}
+    
+    public PostRequest(String content, Post.PostVisibility visibility) {
+        this.content = content;
+        this.visibility = visibility;
+    }
+    
+    // Getters and setters
+    public String getContent() {
+        return content;
+    }
+    
+    public void setContent(String content) {
+        this.content = content;
+    }
+    
+    public Post.PostVisibility getVisibility() {
+        return visibility;
+    }
+    
+    public void setVisibility(Post.PostVisibility visibility) {
+        this.visibility = visibility;
+    }
+    
+    public List<String> getMediaUrls() {
+        return mediaUrls;
+    }
+    
+    public void setMediaUrls(List<String> mediaUrls) {
+        this.mediaUrls = mediaUrls;
+    }
+}
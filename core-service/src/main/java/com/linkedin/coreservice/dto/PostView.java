@@ -0,0 +1,91 @@
+package com.linkedin.coreservice.dto;
+
+import com.linkedin.coreservice.entity.Post;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Post as returned by the API, with its author's card attached
+public class PostView {
+    
+    private final Long id;
+    private final UserCard author;
+    private final String content;
+    private final List<String> mediaUrls;
+    private final long likesCount;
+    private final long commentsCount;
+    private final long sharesCount;
+    private final Post.PostVisibility visibility;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    
+    public PostView(Long id, UserCard author, String content, List<String> mediaUrls,
+                    long likesCount, long commentsCount, long sharesCount,
+                    Post.PostVisibility visibility, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.author = author;
+        this.content = content;
+        this.mediaUrls = mediaUrls;
+        this.likesCount = likesCount;
+        this.commentsCount = commentsCount;
+        this.sharesCount = sharesCount;
+        this.visibility = visibility;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    public static PostView from(Post post, UserCard author) {
+        List<String> mediaUrls = post.getMediaUrls() != null ? new ArrayList<>(post.getMediaUrls()) : List.of();
+        return new PostView(post.getId(), author, post.getContent(), mediaUrls,
+                post.getLikesCount(), post.getCommentsCount(), post.getSharesCount(),
+                post.getVisibility(), post.getCreatedAt(), post.getUpdatedAt());
+    }
+    
+    // Counts with engagement that has not been written to the posts row yet
+    public PostView withCountDeltas(long likesDelta, long commentsDelta, long sharesDelta) {
+        return new PostView(id, author, content, mediaUrls,
+                likesCount + likesDelta, commentsCount + commentsDelta, sharesCount + sharesDelta,
+                visibility, createdAt, updatedAt);
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public UserCard getAuthor() {
+        return author;
+    }
+    
+    public String getContent() {
+        return content;
+    }
+    
+    public List<String> getMediaUrls() {
+        return mediaUrls;
+    }
+    
+    public long getLikesCount() {
+        return likesCount;
+    }
+    
+    public long getCommentsCount() {
+        return commentsCount;
+    }
+    
+    public long getSharesCount() {
+        return sharesCount;
+    }
+    
+    public Post.PostVisibility getVisibility() {
+        return visibility;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,82 @@
+package com.linkedin.coreservice.dto;
+
+import com.linkedin.coreservice.entity.User;
+
+import java.time.LocalDateTime;
+
+// Read-only projection of the columns shown in user lists; loaded with a JPQL constructor
+// expression so list queries skip the summary TEXT column, the password hash and entity hydration
+public class UserCard {
+    
+    private final Long id;
+    private final String email;
+    private final String firstName;
+    private final String lastName;
+    private final String headline;
+    private final String profileImageUrl;
+    private final String location;
+    private final String industry;
+    private final User.UserStatus status;
+    private final LocalDateTime createdAt;
+    
+    public UserCard(Long id, String email, String firstName, String lastName, String headline,
+                    String profileImageUrl, String location, String industry,
+                    User.UserStatus status, LocalDateTime createdAt) {
+        this.id = id;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.headline = headline;
+        this.profileImageUrl = profileImageUrl;
+        this.location = location;
+        this.industry = industry;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+    
+    public static UserCard fromUser(User user) {
+        return new UserCard(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                user.getHeadline(), user.getProfileImageUrl(), user.getLocation(), user.getIndustry(),
+                user.getStatus(), user.getCreatedAt());
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public String getHeadline() {
+        return headline;
+    }
+    
+    public String getProfileImageUrl() {
+        return profileImageUrl;
+    }
+    
+    public String getLocation() {
+        return location;
+    }
+    
+    public String getIndustry() {
+        return industry;
+    }
+    
+    public User.UserStatus getStatus() {
+        return status;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,20 @@
+package com.linkedin.coreservice.dto;
+
+public class UserSuggestion {
+    
+    private final Long id;
+    private final String name;
+    
+    public UserSuggestion(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+}
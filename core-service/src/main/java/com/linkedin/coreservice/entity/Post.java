@@ -34,13 +34,15 @@ public class Post {
     @Column(name = "media_url")
     private List<String> mediaUrls;
     
-    @Column(name = "likes_count", nullable = false)
+    // Counters are only written by PostEngagementService's relative updates; saving a post
+    // must not overwrite them with the values it was loaded with
+    @Column(name = "likes_count", nullable = false, updatable = false)
     private Integer likesCount = 0;
     
-    @Column(name = "comments_count", nullable = false)
+    @Column(name = "comments_count", nullable = false, updatable = false)
     private Integer commentsCount = 0;
     
-    @Column(name = "shares_count", nullable = false)
+    @Column(name = "shares_count", nullable = false, updatable = false)
     private Integer sharesCount = 0;
     
     @Enumerated(EnumType.STRING)
@@ -162,31 +164,6 @@ public class Post {
         this.updatedAt = updatedAt;
     }
     
-    // Helper methods
-    public void incrementLikesCount() {
-        this.likesCount++;
-    }
-    
-    public void decrementLikesCount() {
-        if (this.likesCount > 0) {
-            this.likesCount--;
-        }
-    }
-    
-    public void incrementCommentsCount() {
-        this.commentsCount++;
-    }
-    
-    public void decrementCommentsCount() {
-        if (this.commentsCount > 0) {
-            this.commentsCount--;
-        }
-    }
-    
-    public void incrementSharesCount() {
-        this.sharesCount++;
-    }
-    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
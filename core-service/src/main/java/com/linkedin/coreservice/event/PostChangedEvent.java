@@ -0,0 +1,35 @@
+package com.linkedin.coreservice.event;
+
+import com.linkedin.coreservice.entity.Post;
+
+public class PostChangedEvent {
+    
+    private final Post post;
+    private final Type type;
+    
+    public PostChangedEvent(Post post, Type type) {
+        this.post = post;
+        this.type = type;
+    }
+    
+    public Post getPost() {
+        return post;
+    }
+    
+    public Long getPostId() {
+        return post.getId();
+    }
+    
+    // Reading the id of the lazy author does not need an open session
+    public Long getAuthorId() {
+        return post.getUser().getId();
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
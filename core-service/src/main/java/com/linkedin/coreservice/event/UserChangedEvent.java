@@ -0,0 +1,67 @@
+package com.linkedin.coreservice.event;
+
+import com.linkedin.coreservice.entity.User;
+
+public class UserChangedEvent {
+    
+    private final User user;
+    private final Type type;
+    
+    // State before the change; null status means the user did not exist before
+    private final User.UserStatus previousStatus;
+    private final String previousIndustry;
+    private final String previousLocation;
+    
+    public UserChangedEvent(User user, Type type) {
+        this(user, type, null, null, null);
+    }
+    
+    public UserChangedEvent(User user, Type type, User.UserStatus previousStatus,
+                            String previousIndustry, String previousLocation) {
+        this.user = user;
+        this.type = type;
+        this.previousStatus = previousStatus;
+        this.previousIndustry = previousIndustry;
+        this.previousLocation = previousLocation;
+    }
+    
+    public User getUser() {
+        return user;
+    }
+    
+    public Long getUserId() {
+        return user.getId();
+    }
+    
+    public String getEmail() {
+        return user.getEmail();
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public User.UserStatus getPreviousStatus() {
+        return previousStatus;
+    }
+    
+    public String getPreviousIndustry() {
+        return previousIndustry;
+    }
+    
+    public String getPreviousLocation() {
+        return previousLocation;
+    }
+    
+    @Override
+    public String toString() {
+        return "UserChangedEvent{" +
+                "userId=" + user.getId() +
+                ", type=" + type +
+                '}';
+    }
+    
+    public enum Type {
+        CREATED, UPDATED, DEACTIVATED
+    }
+}
@@ -0,0 +1,12 @@
+package com.linkedin.coreservice.exception;
+
+public class PostNotFoundException extends RuntimeException {
+    
+    public PostNotFoundException(String message) {
+        super(message);
+    }
+    
+    public PostNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
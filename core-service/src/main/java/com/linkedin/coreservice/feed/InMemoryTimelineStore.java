@@ -0,0 +1,140 @@
+package com.linkedin.coreservice.feed;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Local stand-in for a shared timeline store. Each timeline is a bounded sorted array of
+// post ids; the number of timelines held is bounded too. A timeline is dropped a fixed time
+// after it was built, however often it is read, so the next read rebuilds it from the
+// database and picks up deleted posts and changed connections that catch-up cannot see.
+@Component
+public class InMemoryTimelineStore implements TimelineStore {
+    
+    private final int capacity;
+    private final Cache<Long, Timeline> timelines;
+    
+    @Autowired
+    public InMemoryTimelineStore(MeterRegistry meterRegistry,
+                                 @Value("${feed.timeline.capacity:800}") int capacity,
+                                 @Value("${feed.timeline.max-users:100000}") long maxUsers,
+                                 @Value("${feed.timeline.max-age:15m}") Duration maxAge) {
+        this.capacity = capacity;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(maxAge)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, timelines, "timelines");
+    }
+    
+    @Override
+    public void push(Collection<Long> userIds, long postId) {
+        for (Long userId : userIds) {
+            Timeline timeline = timelines.getIfPresent(userId);
+            if (timeline != null) {
+                timeline.add(postId);
+            }
+        }
+    }
+    
+    @Override
+    public Optional<List<Long>> read(long userId, long beforePostId, int limit) {
+        Timeline timeline = timelines.getIfPresent(userId);
+        return timeline == null ? Optional.empty() : Optional.of(timeline.read(beforePostId, limit));
+    }
+    
+    @Override
+    public void replace(long userId, List<Long> postIds, LocalDateTime syncedAt) {
+        Timeline timeline = new Timeline(capacity, syncedAt);
+        for (Long postId : postIds) {
+            timeline.add(postId);
+        }
+        timelines.put(userId, timeline);
+    }
+    
+    @Override
+    public void merge(long userId, List<Long> postIds, LocalDateTime syncedAt) {
+        Timeline timeline = timelines.getIfPresent(userId);
+        if (timeline != null) {
+            timeline.merge(postIds, syncedAt);
+        }
+    }
+    
+    @Override
+    public Optional<LocalDateTime> syncedAt(long userId) {
+        Timeline timeline = timelines.getIfPresent(userId);
+        return timeline == null ? Optional.empty() : Optional.of(timeline.syncedAt());
+    }
+    
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+    
+    // Post ids ascending; when full, the oldest id is dropped to make room
+    private static final class Timeline {
+        private final long[] postIds;
+        private int size;
+        private LocalDateTime syncedAt;
+        
+        private Timeline(int capacity, LocalDateTime syncedAt) {
+            this.postIds = new long[capacity];
+            this.syncedAt = syncedAt;
+        }
+        
+        private synchronized LocalDateTime syncedAt() {
+            return syncedAt;
+        }
+        
+        private synchronized void merge(List<Long> newPostIds, LocalDateTime newSyncedAt) {
+            for (Long postId : newPostIds) {
+                add(postId);
+            }
+            if (newSyncedAt.isAfter(syncedAt)) {
+                syncedAt = newSyncedAt;
+            }
+        }
+        
+        private synchronized void add(long postId) {
+            int index = Arrays.binarySearch(postIds, 0, size, postId);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == postIds.length) {
+                if (insertAt == 0) {
+                    return;
+                }
+                System.arraycopy(postIds, 1, postIds, 0, insertAt - 1);
+                insertAt--;
+            } else {
+                System.arraycopy(postIds, insertAt, postIds, insertAt + 1, size - insertAt);
+                size++;
+            }
+            postIds[insertAt] = postId;
+        }
+        
+        private synchronized List<Long> read(long beforePostId, int limit) {
+            int index = Arrays.binarySearch(postIds, 0, size, beforePostId);
+            int end = index >= 0 ? index : -index - 1;
+            List<Long> page = new ArrayList<>(Math.min(limit, end));
+            for (int i = end - 1; i >= 0 && page.size() < limit; i--) {
+                page.add(postIds[i]);
+            }
+            return page;
+        }
+    }
+}
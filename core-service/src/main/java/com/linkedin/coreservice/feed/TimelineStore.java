@@ -0,0 +1,30 @@
+package com.linkedin.coreservice.feed;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Per-user home timelines of post ids, newest first. Implementations only need to hold
+// recently active users: a timeline that is not held is rebuilt by the caller from the
+// posts table and installed with replace(). Pushes only reach the timelines held where the
+// post was handled, so a held timeline is also caught up with merge() from time to time.
+public interface TimelineStore {
+    
+    // Adds the post to every listed timeline that is currently held
+    void push(Collection<Long> userIds, long postId);
+    
+    // Up to limit post ids below beforePostId, newest first; empty when the timeline is not held
+    Optional<List<Long>> read(long userId, long beforePostId, int limit);
+    
+    // syncedAt is when the posts table was read; later posts only arrive by push or merge
+    void replace(long userId, List<Long> postIds, LocalDateTime syncedAt);
+    
+    // Adds the posts and advances syncedAt if the timeline is still held
+    void merge(long userId, List<Long> postIds, LocalDateTime syncedAt);
+    
+    // When the timeline was last read from or caught up with the posts table; empty when not held
+    Optional<LocalDateTime> syncedAt(long userId);
+    
+    int capacity();
+}
@@ -2,14 +2,23 @@ package com.linkedin.coreservice.repository;
 
 import com.linkedin.coreservice.entity.Post;
 import com.linkedin.coreservice.entity.User;
+import com.linkedin.coreservice.search.PostSearchDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
@@ -30,11 +39,57 @@ public interface PostRepository extends JpaRepository<Post, Long> {
                                                         @Param("status") Post.PostStatus status,
                                                         Pageable pageable);
     
-    @Query("SELECT p FROM Post p WHERE p.status = :status AND " +
-           "LOWER(p.content) LIKE LOWER(CONCAT('%', :search, '%')) ORDER BY p.createdAt DESC")
-    Page<Post> findByStatusAndContentContainingIgnoreCaseOrderByCreatedAtDesc(@Param("status") Post.PostStatus status,
-                                                                             @Param("search") String search,
-                                                                             Pageable pageable);
+    // Newest post ids of the given authors, used to build and extend home timelines
+    @Query("SELECT p.id FROM Post p WHERE p.user.id IN :authorIds AND p.status = :status AND " +
+           "p.visibility <> :excludedVisibility AND p.id < :beforeId ORDER BY p.id DESC")
+    List<Long> findIdsByAuthorsBefore(@Param("authorIds") Collection<Long> authorIds,
+                                      @Param("status") Post.PostStatus status,
+                                      @Param("excludedVisibility") Post.PostVisibility excludedVisibility,
+                                      @Param("beforeId") Long beforeId,
+                                      Pageable pageable);
+    
+    // Post ids of the given authors created since a point in time, used to catch held timelines up
+    @Query("SELECT p.id FROM Post p WHERE p.user.id IN :authorIds AND p.status = :status AND " +
+           "p.visibility <> :excludedVisibility AND p.createdAt > :since ORDER BY p.id DESC")
+    List<Long> findIdsByAuthorsCreatedAfter(@Param("authorIds") Collection<Long> authorIds,
+                                            @Param("status") Post.PostStatus status,
+                                            @Param("excludedVisibility") Post.PostVisibility excludedVisibility,
+                                            @Param("since") LocalDateTime since,
+                                            Pageable pageable);
+    
+    // Hydrates a page of posts with their media in one query, keeping only those the viewer
+    // may see: their own, public ones, and connections-only ones of the given audience
+    @Query("SELECT DISTINCT p FROM Post p LEFT JOIN FETCH p.mediaUrls WHERE p.id IN :ids AND " +
+           "p.status = :status AND (p.user.id = :viewerId OR p.visibility = :publicVisibility OR " +
+           "(p.visibility = :connectionsVisibility AND p.user.id IN :audienceIds))")
+    List<Post> findVisibleWithMediaByIdIn(@Param("ids") Collection<Long> ids,
+                                          @Param("status") Post.PostStatus status,
+                                          @Param("viewerId") Long viewerId,
+                                          @Param("audienceIds") Collection<Long> audienceIds,
+                                          @Param("publicVisibility") Post.PostVisibility publicVisibility,
+                                          @Param("connectionsVisibility") Post.PostVisibility connectionsVisibility);
+    
+    // Content search is served by PostSearchService; these feed its index
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.linkedin.coreservice.search.PostSearchDocument(" +
+           "p.id, p.user.id, p.content, p.visibility, p.status, p.createdAt, p.updatedAt) " +
+           "FROM Post p WHERE p.status = :status")
+    Stream<PostSearchDocument> streamSearchDocumentsByStatus(@Param("status") Post.PostStatus status);
+    
+    @Query("SELECT new com.linkedin.coreservice.search.PostSearchDocument(" +
+           "p.id, p.user.id, p.content, p.visibility, p.status, p.createdAt, p.updatedAt) " +
+           "FROM Post p WHERE p.updatedAt > :since")
+    List<PostSearchDocument> findSearchDocumentsUpdatedAfter(@Param("since") LocalDateTime since);
+    
+    // Both return the number of rows changed: 0 when the user already liked, or never liked, the post
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_likes (user_id, post_id, created_at) VALUES (:userId, :postId, NOW(6))",
+           nativeQuery = true)
+    int insertLike(@Param("userId") Long userId, @Param("postId") Long postId);
+    
+    @Modifying
+    @Query(value = "DELETE FROM post_likes WHERE user_id = :userId AND post_id = :postId", nativeQuery = true)
+    int deleteLike(@Param("userId") Long userId, @Param("postId") Long postId);
     
     long countByUserAndStatus(User user, Post.PostStatus status);
     
@@ -1,14 +1,25 @@
 package com.linkedin.coreservice.repository;
 
+import com.linkedin.coreservice.dto.UserCard;
 import com.linkedin.coreservice.entity.User;
+import com.linkedin.coreservice.search.UserSearchDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -49,5 +60,103 @@ public interface UserRepository extends JpaRepository<User, Long> {
                                      @Param("search") String search,
                                      Pageable pageable);
     
+    // List views select only the UserCard columns
+    String CARD_SELECT = "SELECT new com.linkedin.coreservice.dto.UserCard(" +
+            "u.id, u.email, u.firstName, u.lastName, u.headline, u.profileImageUrl, " +
+            "u.location, u.industry, u.status, u.createdAt) FROM User u ";
+    
+    String FILTERS = "(:industry IS NULL OR u.industry = :industry) AND " +
+            "(:location IS NULL OR LOWER(u.location) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
+            "(:search IS NULL OR LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(u.headline) LIKE LOWER(CONCAT('%', :search, '%')))";
+    
+    // Seek predicate for (createdAt DESC, id DESC) keyset pages; a null cursor starts from the newest row
+    String AFTER_CURSOR = "(:cursorCreatedAt IS NULL OR u.createdAt < :cursorCreatedAt OR " +
+            "(u.createdAt = :cursorCreatedAt AND u.id < :cursorId)) " +
+            "ORDER BY u.createdAt DESC, u.id DESC";
+    
+    @Query(value = CARD_SELECT + "WHERE u.status = :status",
+           countQuery = "SELECT COUNT(u) FROM User u WHERE u.status = :status")
+    Page<UserCard> findCardsByStatus(@Param("status") User.UserStatus status, Pageable pageable);
+    
+    @Query(value = CARD_SELECT + "WHERE u.status = :status AND " + FILTERS,
+           countQuery = "SELECT COUNT(u) FROM User u WHERE u.status = :status AND " + FILTERS)
+    Page<UserCard> findCardsByStatusAndFilters(@Param("status") User.UserStatus status,
+                                               @Param("industry") String industry,
+                                               @Param("location") String location,
+                                               @Param("search") String search,
+                                               Pageable pageable);
+    
+    @Query(CARD_SELECT + "WHERE u.status = :status AND " + AFTER_CURSOR)
+    List<UserCard> findCardsByStatusAfterCursor(@Param("status") User.UserStatus status,
+                                                @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable pageable);
+    
+    @Query(CARD_SELECT + "WHERE u.status = :status AND " + FILTERS + " AND " + AFTER_CURSOR)
+    List<UserCard> findCardsByStatusAndFiltersAfterCursor(@Param("status") User.UserStatus status,
+                                                          @Param("industry") String industry,
+                                                          @Param("location") String location,
+                                                          @Param("search") String search,
+                                                          @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                          @Param("cursorId") Long cursorId,
+                                                          Pageable pageable);
+    
+    // Keyset pages over the hits of a text search, looked up by primary key
+    @Query(CARD_SELECT + "WHERE u.id IN :ids AND u.status = :status AND " + AFTER_CURSOR)
+    List<UserCard> findCardsByIdInAndStatusAfterCursor(@Param("ids") Collection<Long> ids,
+                                                       @Param("status") User.UserStatus status,
+                                                       @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                       @Param("cursorId") Long cursorId,
+                                                       Pageable pageable);
+    
+    // Primary-key range scan streamed through a server-side cursor; used by the NDJSON export
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(CARD_SELECT + "WHERE u.id > :afterId ORDER BY u.id")
+    Stream<UserCard> streamCardsAfterId(@Param("afterId") long afterId);
+    
+    @Query(CARD_SELECT + "WHERE u.id IN :ids")
+    List<UserCard> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+    
     long countByStatus(User.UserStatus status);
+    
+    @Query("SELECT u.industry, COUNT(u) FROM User u WHERE u.status = :status AND u.industry IS NOT NULL GROUP BY u.industry")
+    List<Object[]> countByStatusGroupByIndustry(@Param("status") User.UserStatus status);
+    
+    @Query("SELECT u.location, COUNT(u) FROM User u WHERE u.status = :status AND u.location IS NOT NULL GROUP BY u.location")
+    List<Object[]> countByStatusGroupByLocation(@Param("status") User.UserStatus status);
+    
+    // Returns 0 when the stored hash is no longer expectedPassword. Runs in its own write
+    // transaction because query methods are read-only by default.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE users SET password = :newPassword WHERE id = :id AND password = :expectedPassword",
+           nativeQuery = true)
+    int updatePasswordIfUnchanged(@Param("id") Long id,
+                                  @Param("expectedPassword") String expectedPassword,
+                                  @Param("newPassword") String newPassword);
+    
+    @Query("SELECT u.id FROM User u WHERE u.status <> :status AND u.updatedAt > :since")
+    List<Long> findIdsByStatusNotAndUpdatedAtAfter(@Param("status") User.UserStatus status,
+                                                  @Param("since") LocalDateTime since);
+    
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the result set
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamAllEmails();
+    
+    @Query("SELECT u.email FROM User u WHERE u.createdAt > :since")
+    List<String> findEmailsCreatedAfter(@Param("since") LocalDateTime since);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.linkedin.coreservice.search.UserSearchDocument(" +
+           "u.id, u.firstName, u.lastName, u.headline, u.industry, u.location, u.status, u.updatedAt) " +
+           "FROM User u WHERE u.status = :status")
+    Stream<UserSearchDocument> streamSearchDocumentsByStatus(@Param("status") User.UserStatus status);
+    
+    @Query("SELECT new com.linkedin.coreservice.search.UserSearchDocument(" +
+           "u.id, u.firstName, u.lastName, u.headline, u.industry, u.location, u.status, u.updatedAt) " +
+           "FROM User u WHERE u.updatedAt > :since")
+    List<UserSearchDocument> findSearchDocumentsUpdatedAfter(@Param("since") LocalDateTime since);
 }
@@ -0,0 +1,119 @@
+package com.linkedin.coreservice.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Keeps an in-memory index in step with a table. A rebuild loads a fresh index from a
+// streamed snapshot while changes keep arriving through apply(); those changes are replayed
+// onto the new index before it replaces the old one. Rows written by other instances are
+// picked up by re-reading the ones changed since the last sync.
+//
+// Snapshot and catch-up queries run in the caller's transaction.
+public class IndexSynchronizer<I, D> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(IndexSynchronizer.class);
+    
+    // Covers transactions that commit a little after their timestamp column is set
+    private static final long CATCH_UP_OVERLAP_SECONDS = 60;
+    
+    private final String name;
+    private final Supplier<Stream<D>> snapshot;
+    private final Function<Stream<D>, I> loader;
+    private final Function<LocalDateTime, List<D>> changedSince;
+    private final BiConsumer<I, D> applyTo;
+    private final Object buildLock = new Object();
+    
+    private volatile I index;
+    private volatile LocalDateTime lastSync;
+    
+    // Non-null only while a rebuild is streaming its snapshot
+    private List<D> pendingChanges;
+    
+    public IndexSynchronizer(String name,
+                             Supplier<Stream<D>> snapshot,
+                             Function<Stream<D>, I> loader,
+                             Function<LocalDateTime, List<D>> changedSince,
+                             BiConsumer<I, D> applyTo) {
+        this.name = name;
+        this.snapshot = snapshot;
+        this.loader = loader;
+        this.changedSince = changedSince;
+        this.applyTo = applyTo;
+    }
+    
+    // Null until the first rebuild completes
+    public I current() {
+        return index;
+    }
+    
+    public void apply(D document) {
+        synchronized (buildLock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(document);
+            }
+        }
+        I current = index;
+        if (current != null) {
+            applyTo.accept(current, document);
+        }
+    }
+    
+    // Returns false if the snapshot could not be loaded; the previous index stays live
+    public boolean rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime syncPoint = LocalDateTime.now();
+        
+        synchronized (buildLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        
+        AtomicLong count = new AtomicLong();
+        I building;
+        try (Stream<D> documents = snapshot.get()) {
+            building = loader.apply(documents.peek(document -> count.incrementAndGet()));
+        } catch (RuntimeException e) {
+            synchronized (buildLock) {
+                pendingChanges = null;
+            }
+            logger.error("Failed to rebuild {}: {}", name, e.getMessage());
+            return false;
+        }
+        
+        synchronized (buildLock) {
+            for (D document : pendingChanges) {
+                applyTo.accept(building, document);
+            }
+            pendingChanges = null;
+            index = building;
+        }
+        
+        catchUpSince(syncPoint);
+        
+        logger.info("Rebuilt {} with {} entries in {} ms", name, count.get(), System.currentTimeMillis() - start);
+        return true;
+    }
+    
+    public void catchUp() {
+        LocalDateTime since = lastSync;
+        if (index != null && since != null) {
+            catchUpSince(since);
+        }
+    }
+    
+    private void catchUpSince(LocalDateTime since) {
+        LocalDateTime now = LocalDateTime.now();
+        for (D document : changedSince.apply(since.minusSeconds(CATCH_UP_OVERLAP_SECONDS))) {
+            apply(document);
+        }
+        lastSync = now;
+    }
+}
@@ -0,0 +1,282 @@
+package com.linkedin.coreservice.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+// In-memory inverted index ranked with BM25. Every query term must match; the last one
+// may match as a prefix. Matching is driven by the shortest postings list and the other
+// terms are probed by binary search, so a query costs roughly the size of its rarest term
+// rather than the size of the index. Each document carries attributes of type A that
+// queries can filter on.
+public class InvertedIndex<A> {
+    
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    // Completions of a prefix rank below an exact match of the typed word
+    private static final double PREFIX_EXPANSION_WEIGHT = 0.5;
+    
+    private static final Comparator<SearchHit> BEST_FIRST = Comparator
+            .comparingDouble(SearchHit::getScore).reversed()
+            .thenComparing(Comparator.comparingLong(SearchHit::getDocId).reversed());
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, Document<A>> documents = new HashMap<>();
+    private long totalLength;
+    
+    // Adds the document or replaces its previous version
+    public void put(long docId, List<String> tokens, A attributes) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        
+        lock.writeLock().lock();
+        try {
+            removeDocument(docId);
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new Postings()).put(docId, entry.getValue());
+            }
+            documents.put(docId, new Document<>(frequencies.keySet().toArray(new String[0]), tokens.size(), attributes));
+            totalLength += tokens.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public SearchResult search(List<String> queryTerms, boolean prefixLastTerm, Predicate<A> filter, int limit) {
+        return search(queryTerms, prefixLastTerm, filter, null, null, limit);
+    }
+    
+    // Relevance is multiplied by boost(attributes) when a boost is given. With an after hit,
+    // only hits ranking strictly below it are returned, which pages through the matches by
+    // (score, docId) without materializing the pages before it; totalMatches still counts all.
+    public SearchResult search(List<String> queryTerms, boolean prefixLastTerm, Predicate<A> filter,
+                               ToDoubleFunction<A> boost, SearchHit after, int limit) {
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return SearchResult.EMPTY;
+        }
+        
+        lock.readLock().lock();
+        try {
+            int docCount = documents.size();
+            if (docCount == 0) {
+                return SearchResult.EMPTY;
+            }
+            
+            List<TermMatcher> matchers = new ArrayList<>(queryTerms.size());
+            for (int i = 0; i < queryTerms.size(); i++) {
+                boolean prefix = prefixLastTerm && i == queryTerms.size() - 1;
+                TermMatcher matcher = matcherFor(queryTerms.get(i), prefix, docCount);
+                if (matcher == null) {
+                    return SearchResult.EMPTY;
+                }
+                matchers.add(matcher);
+            }
+            
+            TermMatcher driver = matchers.get(0);
+            for (TermMatcher matcher : matchers) {
+                if (matcher.totalSize < driver.totalSize) {
+                    driver = matcher;
+                }
+            }
+            
+            double averageLength = (double) totalLength / docCount;
+            PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+            int matches = 0;
+            
+            long[] candidates = driver.candidates();
+            for (long docId : candidates) {
+                Document<A> document = documents.get(docId);
+                double norm = K1 * (1 - B + B * document.length / averageLength);
+                
+                double score = 0;
+                for (TermMatcher matcher : matchers) {
+                    double termScore = matcher.score(docId, norm);
+                    if (termScore < 0) {
+                        score = -1;
+                        break;
+                    }
+                    score += termScore;
+                }
+                if (score < 0 || (filter != null && !filter.test(document.attributes))) {
+                    continue;
+                }
+                if (boost != null) {
+                    score *= boost.applyAsDouble(document.attributes);
+                }
+                
+                matches++;
+                SearchHit hit = new SearchHit(docId, score);
+                if (after != null && BEST_FIRST.compare(hit, after) <= 0) {
+                    continue;
+                }
+                top.offer(hit);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            
+            List<SearchHit> hits = new ArrayList<>(top);
+            hits.sort(BEST_FIRST);
+            return new SearchResult(hits, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private TermMatcher matcherFor(String term, boolean prefix, int docCount) {
+        List<Postings> lists = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        if (prefix) {
+            // Expands to the exact term plus the completions found in the most documents; when
+            // there are too many, rare completions are dropped, never alphabetically late ones
+            PriorityQueue<Postings> completions = new PriorityQueue<>(MAX_PREFIX_EXPANSIONS + 1,
+                    Comparator.comparingInt(Postings::size));
+            for (Map.Entry<String, Postings> entry : postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+                completions.offer(entry.getValue());
+                if (completions.size() > MAX_PREFIX_EXPANSIONS) {
+                    completions.poll();
+                }
+            }
+            Postings exact = postings.get(term);
+            double maxCompletionIdf = Double.MAX_VALUE;
+            if (exact != null) {
+                if (completions.size() == MAX_PREFIX_EXPANSIONS) {
+                    completions.poll();
+                }
+                lists.add(exact);
+                weights.add(1.0);
+                maxCompletionIdf = idf(exact.size(), docCount);
+            }
+            for (Postings completion : completions) {
+                // A completion rarer than the typed word would otherwise outscore it on idf alone
+                double idf = idf(completion.size(), docCount);
+                lists.add(completion);
+                weights.add(PREFIX_EXPANSION_WEIGHT * Math.min(1.0, maxCompletionIdf / idf));
+            }
+        } else {
+            Postings list = postings.get(term);
+            if (list != null) {
+                lists.add(list);
+                weights.add(1.0);
+            }
+        }
+        return lists.isEmpty() ? null : new TermMatcher(lists, weights, docCount);
+    }
+    
+    private static double idf(int documentFrequency, int docCount) {
+        return Math.log(1 + (docCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+    
+    private void removeDocument(long docId) {
+        Document<A> existing = documents.remove(docId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.terms) {
+            Postings list = postings.get(term);
+            if (list != null) {
+                list.remove(docId);
+                if (list.size() == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= existing.length;
+    }
+    
+    private static final class Document<A> {
+        private final String[] terms;
+        private final int length;
+        private final A attributes;
+        
+        private Document(String[] terms, int length, A attributes) {
+            this.terms = terms;
+            this.length = length;
+            this.attributes = attributes;
+        }
+    }
+    
+    // One query term; a prefix term matches any of its expansions and scores by the best one
+    private static final class TermMatcher {
+        private final List<Postings> lists;
+        private final double[] idfs;
+        private final int totalSize;
+        
+        private TermMatcher(List<Postings> lists, List<Double> weights, int docCount) {
+            this.lists = lists;
+            this.idfs = new double[lists.size()];
+            int total = 0;
+            for (int i = 0; i < lists.size(); i++) {
+                int documentFrequency = lists.get(i).size();
+                idfs[i] = weights.get(i) * idf(documentFrequency, docCount);
+                total += documentFrequency;
+            }
+            this.totalSize = total;
+        }
+        
+        // BM25 contribution of this term, or -1 when the document does not contain it
+        private double score(long docId, double norm) {
+            double best = -1;
+            for (int i = 0; i < lists.size(); i++) {
+                int frequency = lists.get(i).frequency(docId);
+                if (frequency > 0) {
+                    best = Math.max(best, idfs[i] * frequency * (K1 + 1) / (frequency + norm));
+                }
+            }
+            return best;
+        }
+        
+        // Distinct document ids containing the term, in ascending order
+        private long[] candidates() {
+            long[] ids = new long[totalSize];
+            int size = 0;
+            for (Postings list : lists) {
+                for (int i = 0; i < list.size(); i++) {
+                    ids[size++] = list.docId(i);
+                }
+            }
+            if (lists.size() == 1) {
+                return ids;
+            }
+            Arrays.sort(ids);
+            int distinct = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (i == 0 || ids[i] != ids[i - 1]) {
+                    ids[distinct++] = ids[i];
+                }
+            }
+            return Arrays.copyOf(ids, distinct);
+        }
+    }
+}
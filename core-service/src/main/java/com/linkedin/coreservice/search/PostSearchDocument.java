@@ -0,0 +1,83 @@
+package com.linkedin.coreservice.search;
+
+import com.linkedin.coreservice.entity.Post;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+// The searchable columns of a post, loaded by a constructor-expression query so that
+// index builds never hydrate full Post entities or their media collections
+public class PostSearchDocument {
+    
+    private final Long id;
+    private final Long authorId;
+    private final String content;
+    private final Post.PostVisibility visibility;
+    private final Post.PostStatus status;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    
+    public PostSearchDocument(Long id, Long authorId, String content, Post.PostVisibility visibility,
+                              Post.PostStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.authorId = authorId;
+        this.content = content;
+        this.visibility = visibility;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    public static PostSearchDocument fromPost(Post post) {
+        return new PostSearchDocument(post.getId(), post.getUser().getId(), post.getContent(), post.getVisibility(),
+                post.getStatus(), post.getCreatedAt(), post.getUpdatedAt());
+    }
+    
+    public List<String> tokens() {
+        return TextAnalyzer.tokenize(content);
+    }
+    
+    public Attributes attributes() {
+        return new Attributes(authorId, visibility, createdAt.atZone(ZoneId.systemDefault()).toEpochSecond());
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public Post.PostStatus getStatus() {
+        return status;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    // Visibility and recency inputs stored next to each indexed post
+    public static final class Attributes {
+        private final long authorId;
+        private final Post.PostVisibility visibility;
+        private final long createdAtEpochSecond;
+        
+        private Attributes(long authorId, Post.PostVisibility visibility, long createdAtEpochSecond) {
+            this.authorId = authorId;
+            this.visibility = visibility;
+            this.createdAtEpochSecond = createdAtEpochSecond;
+        }
+        
+        // Same rules as the post read path: own posts, public posts, and connections-only
+        // posts of the viewer's connections
+        public boolean visibleTo(long viewerId, Set<Long> connectionIds) {
+            if (authorId == viewerId || visibility == Post.PostVisibility.PUBLIC) {
+                return true;
+            }
+            return visibility == Post.PostVisibility.CONNECTIONS && connectionIds.contains(authorId);
+        }
+        
+        public long getCreatedAtEpochSecond() {
+            return createdAtEpochSecond;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.linkedin.coreservice.search;
+
+import java.util.Arrays;
+
+// Sorted document ids with their term frequencies, kept in parallel primitive arrays
+// so that large postings lists cost 12 bytes per entry rather than a boxed map entry.
+final class Postings {
+    
+    private static final int INITIAL_CAPACITY = 4;
+    
+    private long[] docIds = new long[INITIAL_CAPACITY];
+    private int[] frequencies = new int[INITIAL_CAPACITY];
+    private int size;
+    
+    void put(long docId, int frequency) {
+        int index = Arrays.binarySearch(docIds, 0, size, docId);
+        if (index >= 0) {
+            frequencies[index] = frequency;
+            return;
+        }
+        int insertAt = -index - 1;
+        if (size == docIds.length) {
+            int capacity = docIds.length + (docIds.length >> 1) + 1;
+            docIds = Arrays.copyOf(docIds, capacity);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+        }
+        System.arraycopy(docIds, insertAt, docIds, insertAt + 1, size - insertAt);
+        System.arraycopy(frequencies, insertAt, frequencies, insertAt + 1, size - insertAt);
+        docIds[insertAt] = docId;
+        frequencies[insertAt] = frequency;
+        size++;
+    }
+    
+    void remove(long docId) {
+        int index = Arrays.binarySearch(docIds, 0, size, docId);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(docIds, index + 1, docIds, index, size - index - 1);
+        System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+        size--;
+    }
+    
+    // Term frequency of the document, or 0 when it does not contain the term
+    int frequency(long docId) {
+        int index = Arrays.binarySearch(docIds, 0, size, docId);
+        return index >= 0 ? frequencies[index] : 0;
+    }
+    
+    long docId(int index) {
+        return docIds[index];
+    }
+    
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,180 @@
+package com.linkedin.coreservice.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Prefix lookup over normalized name keys. The bulk of the entries live in an immutable
+// sorted snapshot (parallel arrays searched by binary search); changes made after the
+// snapshot go to a small concurrent skip list and shadow the snapshot entries of the
+// same id. Reads take no locks. Rebuilding folds the changes back into a new snapshot.
+public class PrefixIndex {
+    
+    // Separates the name from the id in delta keys so users with equal names do not collide
+    private static final char ID_SEPARATOR = '\u0000';
+    
+    private final String[] keys;
+    private final long[] ids;
+    private final String[] labels;
+    
+    private final ConcurrentSkipListMap<String, Match> delta = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> deltaKeysById = new ConcurrentHashMap<>();
+    private final Set<Long> shadowed = ConcurrentHashMap.newKeySet();
+    
+    private PrefixIndex(String[] keys, long[] ids, String[] labels) {
+        this.keys = keys;
+        this.ids = ids;
+        this.labels = labels;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    // Lower-cased, accent-free words joined by single spaces
+    public static String normalize(String... parts) {
+        return String.join(" ", TextAnalyzer.tokenize(parts));
+    }
+    
+    public synchronized void put(long id, String label, List<String> nameKeys) {
+        shadowed.add(id);
+        removeDelta(id);
+        List<String> added = new ArrayList<>(nameKeys.size());
+        for (String key : nameKeys) {
+            String deltaKey = key + ID_SEPARATOR + id;
+            delta.put(deltaKey, new Match(id, label));
+            added.add(deltaKey);
+        }
+        deltaKeysById.put(id, added);
+    }
+    
+    public synchronized void remove(long id) {
+        shadowed.add(id);
+        removeDelta(id);
+    }
+    
+    // Up to limit distinct users whose name key starts with the normalized prefix, in key order
+    public List<Match> complete(String prefix, int limit) {
+        List<Match> matches = new ArrayList<>(limit);
+        if (prefix.isEmpty() || limit <= 0) {
+            return matches;
+        }
+        Set<Long> seen = new HashSet<>();
+        
+        int index = lowerBound(prefix);
+        Iterator<Map.Entry<String, Match>> changes =
+                delta.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet().iterator();
+        Map.Entry<String, Match> change = changes.hasNext() ? changes.next() : null;
+        
+        while (matches.size() < limit) {
+            boolean snapshotHasNext = index < keys.length && keys[index].startsWith(prefix);
+            if (!snapshotHasNext && change == null) {
+                break;
+            }
+            if (snapshotHasNext && (change == null || keys[index].compareTo(change.getKey()) <= 0)) {
+                long id = ids[index];
+                if (!shadowed.contains(id) && seen.add(id)) {
+                    matches.add(new Match(id, labels[index]));
+                }
+                index++;
+            } else {
+                if (seen.add(change.getValue().getId())) {
+                    matches.add(change.getValue());
+                }
+                change = changes.hasNext() ? changes.next() : null;
+            }
+        }
+        return matches;
+    }
+    
+    public int size() {
+        return keys.length + delta.size();
+    }
+    
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private void removeDelta(long id) {
+        List<String> previous = deltaKeysById.remove(id);
+        if (previous != null) {
+            for (String key : previous) {
+                delta.remove(key);
+            }
+        }
+    }
+    
+    public static class Match {
+        private final long id;
+        private final String label;
+        
+        public Match(long id, String label) {
+            this.id = id;
+            this.label = label;
+        }
+        
+        public long getId() {
+            return id;
+        }
+        
+        public String getLabel() {
+            return label;
+        }
+    }
+    
+    public static class Builder {
+        private final List<Entry> entries = new ArrayList<>();
+        
+        public Builder add(long id, String label, List<String> nameKeys) {
+            for (String key : nameKeys) {
+                entries.add(new Entry(key, id, label));
+            }
+            return this;
+        }
+        
+        public PrefixIndex build() {
+            Entry[] sorted = entries.toArray(new Entry[0]);
+            entries.clear();
+            Arrays.sort(sorted, Comparator.comparing((Entry entry) -> entry.key).thenComparingLong(entry -> entry.id));
+            
+            String[] keys = new String[sorted.length];
+            long[] ids = new long[sorted.length];
+            String[] labels = new String[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                keys[i] = sorted[i].key;
+                ids[i] = sorted[i].id;
+                labels[i] = sorted[i].label;
+            }
+            return new PrefixIndex(keys, ids, labels);
+        }
+    }
+    
+    private static final class Entry {
+        private final String key;
+        private final long id;
+        private final String label;
+        
+        private Entry(String key, long id, String label) {
+            this.key = key;
+            this.id = id;
+            this.label = label;
+        }
+    }
+}
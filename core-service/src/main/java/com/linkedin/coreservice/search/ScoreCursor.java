@@ -0,0 +1,53 @@
+package com.linkedin.coreservice.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque position in a (score DESC, id DESC) ranking. Scores that depend on the time of the
+// query are computed as of the first page, which the cursor carries along so that later
+// pages rank documents exactly as the first one did.
+public final class ScoreCursor {
+    
+    private static final String SEPARATOR = "|";
+    
+    private final long asOfEpochSecond;
+    private final SearchHit after;
+    
+    public ScoreCursor(long asOfEpochSecond, SearchHit after) {
+        this.asOfEpochSecond = asOfEpochSecond;
+        this.after = after;
+    }
+    
+    public long getAsOfEpochSecond() {
+        return asOfEpochSecond;
+    }
+    
+    public SearchHit getAfter() {
+        return after;
+    }
+    
+    // The score is carried as its exact bits so ties compare equal on the next page
+    public String encode() {
+        String raw = asOfEpochSecond + SEPARATOR + Long.toHexString(Double.doubleToLongBits(after.getScore()))
+                + SEPARATOR + after.getDocId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // Returns null for a missing or empty cursor, which means "start from the best hit"
+    public static ScoreCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            double score = Double.longBitsToDouble(Long.parseUnsignedLong(parts[1], 16));
+            return new ScoreCursor(Long.parseLong(parts[0]), new SearchHit(Long.parseLong(parts[2]), score));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
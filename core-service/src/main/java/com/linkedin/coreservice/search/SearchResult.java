@@ -0,0 +1,26 @@
+package com.linkedin.coreservice.search;
+
+import java.util.Collections;
+import java.util.List;
+
+public class SearchResult {
+    
+    public static final SearchResult EMPTY = new SearchResult(Collections.emptyList(), 0);
+    
+    private final List<SearchHit> hits;
+    private final int totalMatches;
+    
+    public SearchResult(List<SearchHit> hits, int totalMatches) {
+        this.hits = hits;
+        this.totalMatches = totalMatches;
+    }
+    
+    // Best hits first, at most the requested limit
+    public List<SearchHit> getHits() {
+        return hits;
+    }
+    
+    public int getTotalMatches() {
+        return totalMatches;
+    }
+}
@@ -0,0 +1,43 @@
+package com.linkedin.coreservice.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Splits text into lower-cased tokens of letters and digits with accents stripped, so that
+// a hyphenated, accented name is indexed and queried as its plain ASCII parts.
+public final class TextAnalyzer {
+    
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    
+    private TextAnalyzer() {
+    }
+    
+    public static List<String> tokenize(String... texts) {
+        List<String> tokens = new ArrayList<>();
+        for (String text : texts) {
+            if (text == null || text.isEmpty()) {
+                continue;
+            }
+            String normalized = normalize(text);
+            int start = -1;
+            for (int i = 0; i <= normalized.length(); i++) {
+                boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+                if (wordChar && start < 0) {
+                    start = i;
+                } else if (!wordChar && start >= 0) {
+                    tokens.add(normalized.substring(start, i));
+                    start = -1;
+                }
+            }
+        }
+        return tokens;
+    }
+    
+    public static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
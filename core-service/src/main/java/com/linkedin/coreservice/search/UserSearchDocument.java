@@ -0,0 +1,101 @@
+package com.linkedin.coreservice.search;
+
+import com.linkedin.coreservice.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+// The searchable columns of a user, loaded by a constructor-expression query so that
+// index builds never hydrate full User entities
+public class UserSearchDocument {
+    
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final String headline;
+    private final String industry;
+    private final String location;
+    private final User.UserStatus status;
+    private final LocalDateTime updatedAt;
+    
+    public UserSearchDocument(Long id, String firstName, String lastName, String headline,
+                              String industry, String location, User.UserStatus status,
+                              LocalDateTime updatedAt) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.headline = headline;
+        this.industry = industry;
+        this.location = location;
+        this.status = status;
+        this.updatedAt = updatedAt;
+    }
+    
+    public static UserSearchDocument fromUser(User user) {
+        return new UserSearchDocument(user.getId(), user.getFirstName(), user.getLastName(), user.getHeadline(),
+                user.getIndustry(), user.getLocation(), user.getStatus(), user.getUpdatedAt());
+    }
+    
+    public List<String> tokens() {
+        return TextAnalyzer.tokenize(firstName, lastName, headline);
+    }
+    
+    public String displayName() {
+        return firstName + " " + lastName;
+    }
+    
+    // "first last" and "last first", so typing either name finds the user
+    public List<String> nameKeys() {
+        String fullName = PrefixIndex.normalize(firstName, lastName);
+        String reversed = PrefixIndex.normalize(lastName, firstName);
+        if (fullName.isEmpty()) {
+            return List.of();
+        }
+        return fullName.equals(reversed) ? List.of(fullName) : List.of(fullName, reversed);
+    }
+    
+    public Facets facets() {
+        return new Facets(industry, location);
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public User.UserStatus getStatus() {
+        return status;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    // Filterable attributes stored next to each indexed user
+    public static final class Facets {
+        private final String industry;
+        private final String location;
+        
+        private Facets(String industry, String location) {
+            this.industry = industry;
+            this.location = location != null ? location.toLowerCase(Locale.ROOT) : null;
+        }
+        
+        // Same semantics as the SQL filters: exact industry, case-insensitive location substring
+        public boolean matches(String industryFilter, String locationFilter) {
+            if (industryFilter != null && !industryFilter.equalsIgnoreCase(industry)) {
+                return false;
+            }
+            return locationFilter == null
+                    || (location != null && location.contains(locationFilter.toLowerCase(Locale.ROOT)));
+        }
+    }
+}
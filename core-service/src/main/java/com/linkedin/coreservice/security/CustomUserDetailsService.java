@@ -5,17 +5,11 @@ import com.linkedin.coreservice.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
     
@@ -39,55 +33,6 @@ public class CustomUserDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException("User account is not active: " + username);
         }
         
-        return new CustomUserPrincipal(user);
-    }
-    
-    private static class CustomUserPrincipal implements UserDetails {
-        private final User user;
-        
-        public CustomUserPrincipal(User user) {
-            this.user = user;
-        }
-        
-        @Override
-        public Collection<? extends GrantedAuthority> getAuthorities() {
-            List<GrantedAuthority> authorities = new ArrayList<>();
-            authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
-            return authorities;
-        }
-        
-        @Override
-        public String getPassword() {
-            return user.getPassword();
-        }
-        
-        @Override
-        public String getUsername() {
-            return user.getEmail();
-        }
-        
-        @Override
-        public boolean isAccountNonExpired() {
-            return true;
-        }
-        
-        @Override
-        public boolean isAccountNonLocked() {
-            return user.getStatus() == User.UserStatus.ACTIVE;
-        }
-        
-        @Override
-        public boolean isCredentialsNonExpired() {
-            return true;
-        }
-        
-        @Override
-        public boolean isEnabled() {
-            return user.getStatus() == User.UserStatus.ACTIVE;
-        }
-        
-        public User getUser() {
-            return user;
-        }
+        return UserPrincipal.fromUser(user);
     }
 }
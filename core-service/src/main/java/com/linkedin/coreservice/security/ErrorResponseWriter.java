@@ -0,0 +1,74 @@
+package com.linkedin.coreservice.security;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+// Writes the ApiResponse error envelope for rejected requests from pre-encoded byte
+// templates. Only the timestamp varies, and it is re-encoded at most once per second,
+// so a rejection costs a few array copies rather than a map, a mapper and a serialization.
+@Component
+public class ErrorResponseWriter {
+    
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+    
+    private volatile EncodedTimestamp timestamp = encode(System.currentTimeMillis() / 1000);
+    
+    public void write(HttpServletResponse response, Rejection rejection) throws IOException {
+        byte[] timestampBytes = currentTimestamp();
+        
+        response.setStatus(rejection.status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(rejection.prefix.length + timestampBytes.length + SUFFIX.length);
+        
+        ServletOutputStream out = response.getOutputStream();
+        out.write(rejection.prefix);
+        out.write(timestampBytes);
+        out.write(SUFFIX);
+        out.flush();
+    }
+    
+    private byte[] currentTimestamp() {
+        long epochSecond = System.currentTimeMillis() / 1000;
+        EncodedTimestamp current = timestamp;
+        if (current.epochSecond != epochSecond) {
+            current = encode(epochSecond);
+            timestamp = current;
+        }
+        return current.bytes;
+    }
+    
+    private static EncodedTimestamp encode(long epochSecond) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+        return new EncodedTimestamp(epochSecond, TIMESTAMP_FORMAT.format(time).getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    private record EncodedTimestamp(long epochSecond, byte[] bytes) {
+    }
+    
+    public enum Rejection {
+        UNAUTHORIZED(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized"),
+        FORBIDDEN(HttpServletResponse.SC_FORBIDDEN, "Forbidden"),
+        NOT_FOUND(HttpServletResponse.SC_NOT_FOUND, "Not found"),
+        RANGE_NOT_SATISFIABLE(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE, "Requested range not satisfiable"),
+        TOO_MANY_REQUESTS(429, "Too many requests, please retry later");
+        
+        private final int status;
+        private final byte[] prefix;
+        
+        Rejection(int status, String message) {
+            this.status = status;
+            this.prefix = ("{\"success\":false,\"message\":\"" + message + "\",\"data\":null,\"timestamp\":\"")
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,43 +1,42 @@
 package com.linkedin.coreservice.security;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedin.coreservice.util.LogSampler;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.MediaType;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
 
 @Component
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationEntryPoint.class);
     
+    private final ErrorResponseWriter errorResponseWriter;
+    private final LogSampler logSampler = new LogSampler(1000);
+    
+    @Autowired
+    public JwtAuthenticationEntryPoint(ErrorResponseWriter errorResponseWriter) {
+        this.errorResponseWriter = errorResponseWriter;
+    }
+    
     @Override
     public void commence(HttpServletRequest request, 
                         HttpServletResponse response,
                         AuthenticationException authException) throws IOException {
         
-        logger.error("Unauthorized error: {}", authException.getMessage());
-        
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        
-        Map<String, Object> body = new HashMap<>();
-        body.put("success", false);
-        body.put("message", "Unauthorized");
-        body.put("error", authException.getMessage());
-        body.put("timestamp", LocalDateTime.now());
-        body.put("path", request.getServletPath());
+        // Unauthenticated floods are the most common response; log a sample, not every one
+        long suppressed = logSampler.tryAcquire();
+        if (suppressed >= 0) {
+            logger.warn("Unauthorized error: {} ({} similar rejections suppressed)",
+                    authException.getMessage(), suppressed);
+        }
         
-        final ObjectMapper mapper = new ObjectMapper();
-        mapper.writeValue(response.getOutputStream(), body);
+        errorResponseWriter.write(response, ErrorResponseWriter.Rejection.UNAUTHORIZED);
     }
 }
@@ -1,7 +1,10 @@
 package com.linkedin.coreservice.security;
 
+import com.linkedin.coreservice.entity.User;
 import com.linkedin.coreservice.service.UserService;
 import com.linkedin.coreservice.util.JwtUtil;
+import com.linkedin.coreservice.util.LogSampler;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +12,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -26,14 +30,24 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     private final UserService userService;
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final boolean statelessEnabled;
+    private final LogSampler logSampler = new LogSampler(1000);
     
     @Autowired
     public JwtRequestFilter(UserService userService, 
                            JwtUtil jwtUtil, 
-                           CustomUserDetailsService userDetailsService) {
+                           CustomUserDetailsService userDetailsService,
+                           TokenRevocationService tokenRevocationService,
+                           VerifiedTokenCache verifiedTokenCache,
+                           @Value("${jwt.stateless.enabled:false}") boolean statelessEnabled) {
         this.userService = userService;
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.statelessEnabled = statelessEnabled;
     }
     
     @Override
@@ -43,28 +57,34 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         
         final String requestTokenHeader = request.getHeader("Authorization");
         
-        String username = null;
-        String jwtToken = null;
+        Claims claims = null;
         
         // JWT Token is in the form "Bearer token"
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
+            String jwtToken = requestTokenHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwtToken);
+                // Verify and parse once (or reuse an earlier verification); the claims
+                // are reused for everything below
+                claims = verifiedTokenCache.verify(jwtToken);
             } catch (Exception e) {
-                logger.warn("Unable to get JWT Token: {}", e.getMessage());
+                long suppressed = logSampler.tryAcquire();
+                if (suppressed >= 0) {
+                    logger.warn("Unable to get JWT Token: {} ({} similar failures suppressed)",
+                            e.getMessage(), suppressed);
+                }
             }
-        } else if (requestTokenHeader != null) {
+        } else if (requestTokenHeader != null && logSampler.tryAcquire() >= 0) {
             logger.warn("JWT Token does not begin with Bearer String");
         }
         
         // Once we get the token validate it
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (claims != null && claims.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
             
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = resolveUserDetails(claims);
             
             // if token is valid configure Spring Security to manually set authentication
-            if (jwtUtil.validateToken(jwtToken, userDetails)) {
+            if (userDetails != null && jwtUtil.validateToken(claims, userDetails)) {
                 
                 UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
                         new UsernamePasswordAuthenticationToken(
@@ -81,4 +101,25 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         
         chain.doFilter(request, response);
     }
+    
+    private UserDetails resolveUserDetails(Claims claims) {
+        if (!statelessEnabled || !jwtUtil.hasPrincipalClaims(claims)) {
+            return this.userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        
+        // Stateless mode: the signed claims describe the principal, only revocation is checked
+        Long userId = jwtUtil.extractUserId(claims);
+        if (tokenRevocationService.isRevoked(userId, claims.getIssuedAt())) {
+            logger.debug("Rejected revoked token for user: {}", userId);
+            return null;
+        }
+        
+        User.UserStatus status = jwtUtil.extractStatus(claims);
+        if (status != User.UserStatus.ACTIVE) {
+            return null;
+        }
+        
+        return new UserPrincipal(userId, claims.getSubject(), null, status,
+                jwtUtil.extractAuthorities(claims));
+    }
 }
@@ -0,0 +1,39 @@
+package com.linkedin.coreservice.security;
+
+import com.linkedin.coreservice.util.RateLimitSketch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+// Sheds login attempts per client address and per target account before any
+// database lookup or password hash is performed
+@Component
+public class LoginRateLimiter {
+    
+    private final boolean enabled;
+    private final RateLimitSketch ipLimiter;
+    private final RateLimitSketch emailLimiter;
+    
+    public LoginRateLimiter(@Value("${auth.rate-limit.enabled:true}") boolean enabled,
+                            @Value("${auth.rate-limit.sketch.depth:4}") int depth,
+                            @Value("${auth.rate-limit.sketch.width:16384}") int width,
+                            @Value("${auth.rate-limit.ip.permits-per-minute:30}") int ipPermitsPerMinute,
+                            @Value("${auth.rate-limit.ip.burst:10}") int ipBurst,
+                            @Value("${auth.rate-limit.email.permits-per-minute:10}") int emailPermitsPerMinute,
+                            @Value("${auth.rate-limit.email.burst:5}") int emailBurst) {
+        this.enabled = enabled;
+        this.ipLimiter = new RateLimitSketch(depth, width, ipPermitsPerMinute, ipBurst);
+        this.emailLimiter = new RateLimitSketch(depth, width, emailPermitsPerMinute, emailBurst);
+    }
+    
+    public boolean tryAcquire(String clientAddress, String email) {
+        if (!enabled) {
+            return true;
+        }
+        if (clientAddress != null && !ipLimiter.tryAcquire(clientAddress)) {
+            return false;
+        }
+        return email == null || emailLimiter.tryAcquire(email.toLowerCase(Locale.ROOT));
+    }
+}
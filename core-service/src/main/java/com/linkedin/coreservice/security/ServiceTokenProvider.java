@@ -0,0 +1,41 @@
+package com.linkedin.coreservice.security;
+
+import com.linkedin.coreservice.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Short-lived token core-service presents to people-graph-service on its own behalf.
+// One token is shared by all calls and replaced once half of its lifetime has passed.
+@Component
+public class ServiceTokenProvider {
+    
+    private static final String SERVICE_NAME = "core-service";
+    
+    private final JwtUtil jwtUtil;
+    private final long ttlMillis;
+    
+    private volatile IssuedToken current;
+    
+    @Autowired
+    public ServiceTokenProvider(JwtUtil jwtUtil,
+                                @Value("${jwt.service-token.ttl:10m}") Duration ttl) {
+        this.jwtUtil = jwtUtil;
+        this.ttlMillis = ttl.toMillis();
+    }
+    
+    public String getToken() {
+        long now = System.currentTimeMillis();
+        IssuedToken token = current;
+        if (token == null || now >= token.renewAt) {
+            token = new IssuedToken(jwtUtil.generateServiceToken(SERVICE_NAME, ttlMillis), now + ttlMillis / 2);
+            current = token;
+        }
+        return token.value;
+    }
+    
+    private record IssuedToken(String value, long renewAt) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.linkedin.coreservice.security;
+
+import com.linkedin.coreservice.event.UserChangedEvent;
+import com.linkedin.coreservice.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Tracks users whose outstanding tokens must no longer be honoured in stateless mode.
+// An entry only has to live as long as the longest-lived token issued before it.
+@Service
+public class TokenRevocationService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+    
+    private final UserService userService;
+    private final boolean statelessEnabled;
+    private final long jwtExpiration;
+    
+    // userId -> revocation time (epoch millis)
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+    
+    private volatile LocalDateTime lastRefresh;
+    
+    @Autowired
+    public TokenRevocationService(UserService userService,
+                                  @Value("${jwt.stateless.enabled:false}") boolean statelessEnabled,
+                                  @Value("${jwt.expiration}") long jwtExpiration) {
+        this.userService = userService;
+        this.statelessEnabled = statelessEnabled;
+        this.jwtExpiration = jwtExpiration;
+    }
+    
+    public void revoke(Long userId) {
+        revokedUsers.put(userId, System.currentTimeMillis());
+        logger.info("Revoked outstanding tokens for user: {}", userId);
+    }
+    
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long revokedAt = revokedUsers.get(userId);
+        return revokedAt != null && issuedAt.getTime() <= revokedAt;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getType() == UserChangedEvent.Type.DEACTIVATED) {
+            revoke(event.getUserId());
+        }
+    }
+    
+    // Picks up deactivations committed by other instances
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:30000}")
+    public void refresh() {
+        if (!statelessEnabled) {
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastRefresh != null
+                ? lastRefresh.minusSeconds(5)
+                : now.minusNanos(jwtExpiration * 1_000_000);
+        
+        try {
+            List<Long> userIds = userService.findDeactivatedUserIdsSince(since);
+            for (Long userId : userIds) {
+                revokedUsers.putIfAbsent(userId, System.currentTimeMillis());
+            }
+            lastRefresh = now;
+        } catch (Exception e) {
+            logger.warn("Failed to refresh token revocation list: {}", e.getMessage());
+        }
+        
+        long cutoff = System.currentTimeMillis() - jwtExpiration;
+        revokedUsers.values().removeIf(revokedAt -> revokedAt < cutoff);
+    }
+}
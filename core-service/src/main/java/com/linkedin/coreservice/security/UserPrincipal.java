@@ -0,0 +1,78 @@
+package com.linkedin.coreservice.security;
+
+import com.linkedin.coreservice.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+public class UserPrincipal implements UserDetails {
+    
+    public static final String DEFAULT_ROLE = "ROLE_USER";
+    
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final User.UserStatus status;
+    private final Collection<? extends GrantedAuthority> authorities;
+    
+    public UserPrincipal(Long id, String email, String password, User.UserStatus status,
+                         Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.status = status;
+        this.authorities = authorities;
+    }
+    
+    public static UserPrincipal fromUser(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(), user.getStatus(),
+                List.of(new SimpleGrantedAuthority(DEFAULT_ROLE)));
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public User.UserStatus getStatus() {
+        return status;
+    }
+    
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+    
+    // Null when the principal was built from token claims rather than the database
+    @Override
+    public String getPassword() {
+        return password;
+    }
+    
+    @Override
+    public String getUsername() {
+        return email;
+    }
+    
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isAccountNonLocked() {
+        return status == User.UserStatus.ACTIVE;
+    }
+    
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return status == User.UserStatus.ACTIVE;
+    }
+}
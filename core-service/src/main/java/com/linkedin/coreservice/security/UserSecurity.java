@@ -0,0 +1,18 @@
+package com.linkedin.coreservice.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+// Method security helpers, referenced from @PreAuthorize as @userSecurity
+@Component("userSecurity")
+public class UserSecurity {
+    
+    // Compares against the id carried by the principal, so no user lookup is needed
+    public boolean isSelf(Authentication authentication, Long userId) {
+        if (authentication == null || userId == null) {
+            return false;
+        }
+        return authentication.getPrincipal() instanceof UserPrincipal principal
+                && userId.equals(principal.getId());
+    }
+}
@@ -0,0 +1,87 @@
+package com.linkedin.coreservice.service;
+
+import com.linkedin.coreservice.repository.UserRepository;
+import com.linkedin.coreservice.search.IndexSynchronizer;
+import com.linkedin.coreservice.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.stream.Stream;
+
+// Answers "is this email definitely not registered?" without a database query.
+// Until the first build completes every email is reported as possibly present.
+@Service
+public class EmailBloomFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EmailBloomFilter.class);
+    
+    private final UserRepository userRepository;
+    private final double falsePositiveRate;
+    private final IndexSynchronizer<BloomFilter, String> sync;
+    
+    // Set by openSnapshot() for the load() that follows it
+    private long expectedInsertions;
+    
+    @Autowired
+    public EmailBloomFilter(UserRepository userRepository,
+                            @Value("${users.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.sync = new IndexSynchronizer<>("email filter",
+                this::openSnapshot,
+                this::load,
+                userRepository::findEmailsCreatedAfter,
+                (filter, email) -> filter.put(normalize(email)));
+    }
+    
+    public boolean mightContain(String email) {
+        BloomFilter current = sync.current();
+        return current == null || current.mightContain(normalize(email));
+    }
+    
+    public void add(String email) {
+        sync.apply(email);
+    }
+    
+    @Scheduled(initialDelayString = "${users.email-filter.initial-delay:0}",
+               fixedDelayString = "${users.email-filter.rebuild-interval:21600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (sync.rebuild()) {
+            BloomFilter current = sync.current();
+            logger.info("Email filter uses {} bits and {} hashes", current.getBitCount(), current.getHashCount());
+        }
+    }
+    
+    // Picks up registrations made on other instances
+    @Scheduled(fixedDelayString = "${users.email-filter.catch-up-interval:10000}")
+    @Transactional(readOnly = true)
+    public void catchUp() {
+        sync.catchUp();
+    }
+    
+    // Counts before the stream opens: while a streaming result set is open Connector/J rejects
+    // every other statement on the connection. Sized with headroom so the false positive rate
+    // holds until the next rebuild.
+    private Stream<String> openSnapshot() {
+        expectedInsertions = Math.max(1_000_000L, userRepository.count() * 2);
+        return userRepository.streamAllEmails();
+    }
+    
+    private BloomFilter load(Stream<String> emails) {
+        BloomFilter building = new BloomFilter(expectedInsertions, falsePositiveRate);
+        emails.forEach(email -> building.put(normalize(email)));
+        return building;
+    }
+    
+    // Emails are compared case-insensitively by the column collation
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,163 @@
+package com.linkedin.coreservice.service;
+
+import com.linkedin.coreservice.dto.CursorPage;
+import com.linkedin.coreservice.dto.PostView;
+import com.linkedin.coreservice.entity.Post;
+import com.linkedin.coreservice.event.PostChangedEvent;
+import com.linkedin.coreservice.feed.TimelineStore;
+import com.linkedin.coreservice.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Home feeds with fan-out on write: a new post id is pushed into the timelines of the
+// author's connections, so reading a feed page is a slice of the viewer's timeline plus
+// one batched hydration. A push only reaches timelines held on the instance that handled
+// the post, and authors with more connections than the fan-out limit are not pushed at all;
+// both kinds of post are merged in when the viewer's timeline is next caught up.
+@Service
+public class FeedService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FeedService.class);
+    
+    // Covers posts whose transaction commits a little after their created_at is set
+    private static final long CATCH_UP_OVERLAP_SECONDS = 60;
+    
+    private final TimelineStore timelineStore;
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final GraphQueryService graphQueryService;
+    private final int maxFanout;
+    private final Duration catchUpInterval;
+    
+    @Autowired
+    public FeedService(TimelineStore timelineStore,
+                       PostRepository postRepository,
+                       PostService postService,
+                       GraphQueryService graphQueryService,
+                       @Value("${feed.fanout.max-connections:5000}") int maxFanout,
+                       @Value("${feed.timeline.catch-up-interval:10s}") Duration catchUpInterval) {
+        this.timelineStore = timelineStore;
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.graphQueryService = graphQueryService;
+        this.maxFanout = maxFanout;
+        this.catchUpInterval = catchUpInterval;
+    }
+    
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        // Only new posts are fanned out, and private posts never appear in feeds
+        if (event.getType() != PostChangedEvent.Type.CREATED
+                || event.getPost().getVisibility() == Post.PostVisibility.PRIVATE) {
+            return;
+        }
+        
+        List<Long> recipients = new ArrayList<>();
+        recipients.add(event.getAuthorId());
+        try {
+            // Connections of a widely connected author pick the post up when caught up
+            Set<Long> connectionIds = graphQueryService.getConnectionIds(event.getAuthorId());
+            if (connectionIds.size() <= maxFanout) {
+                recipients.addAll(connectionIds);
+            }
+        } catch (RestClientException e) {
+            // Held timelines miss this post until they are rebuilt from the database
+            logger.warn("Failed to fan out post {}: {}", event.getPostId(), e.getMessage());
+        }
+        
+        timelineStore.push(recipients, event.getPostId());
+    }
+    
+    // The cursor is the id of the last post of the previous page. The viewer's connection ids
+    // are looked up once per page (usually from cache) and drive every query of the page, so
+    // the page costs a constant number of queries whatever the visibility of its posts.
+    // Not transactional: the graph call comes before any query and each query commits on its
+    // own, so a slow graph service never holds a database connection.
+    public CursorPage<PostView> getFeed(Long viewerId, String cursor, int size) {
+        long beforeId = cursor == null || cursor.isBlank() ? Long.MAX_VALUE : Long.parseLong(cursor);
+        Set<Long> connectionIds = connectionIdsOrNull(viewerId);
+        
+        if (beforeId == Long.MAX_VALUE && connectionIds != null) {
+            catchUp(viewerId, connectionIds);
+        }
+        
+        Optional<List<Long>> held = timelineStore.read(viewerId, beforeId, size);
+        List<Long> postIds = held.isPresent()
+                ? held.get()
+                : rebuildTimeline(viewerId, connectionIds, beforeId, size);
+        
+        // Timelines may still hold connections-only posts of former connections; hydration
+        // drops them, and drops all of them while the connections are unknown
+        List<PostView> posts = postService.hydrate(postIds, viewerId,
+                connectionIds != null ? connectionIds : Set.of());
+        String nextCursor = postIds.size() == size ? String.valueOf(postIds.get(size - 1)) : null;
+        return new CursorPage<>(posts, nextCursor);
+    }
+    
+    // Timelines that are not held (new, idle or evicted) are rebuilt from the posts table.
+    // Without connection ids the page is served from the viewer's own posts and not stored.
+    private List<Long> rebuildTimeline(Long viewerId, Set<Long> connectionIds, long beforeId, int size) {
+        List<Long> authorIds = new ArrayList<>();
+        authorIds.add(viewerId);
+        if (connectionIds == null) {
+            return recentPostIds(authorIds, beforeId, size);
+        }
+        authorIds.addAll(connectionIds);
+        
+        LocalDateTime syncedAt = LocalDateTime.now();
+        List<Long> timeline = recentPostIds(authorIds, Long.MAX_VALUE, timelineStore.capacity());
+        timelineStore.replace(viewerId, timeline, syncedAt);
+        return timeline.stream()
+                .filter(id -> id < beforeId)
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+    
+    // Merges in the posts of the viewer and their connections created since the held timeline
+    // was last synced, at most once per catch-up interval and only when the first page is read
+    private void catchUp(Long viewerId, Set<Long> connectionIds) {
+        Optional<LocalDateTime> syncedAt = timelineStore.syncedAt(viewerId);
+        LocalDateTime now = LocalDateTime.now();
+        if (syncedAt.isEmpty() || syncedAt.get().isAfter(now.minus(catchUpInterval))) {
+            return;
+        }
+        
+        List<Long> authorIds = new ArrayList<>(connectionIds);
+        authorIds.add(viewerId);
+        List<Long> postIds = postRepository.findIdsByAuthorsCreatedAfter(authorIds, Post.PostStatus.ACTIVE,
+                Post.PostVisibility.PRIVATE, syncedAt.get().minusSeconds(CATCH_UP_OVERLAP_SECONDS),
+                PageRequest.of(0, timelineStore.capacity()));
+        timelineStore.merge(viewerId, postIds, now);
+    }
+    
+    private List<Long> recentPostIds(Collection<Long> authorIds, long beforeId, int limit) {
+        return postRepository.findIdsByAuthorsBefore(authorIds, Post.PostStatus.ACTIVE,
+                Post.PostVisibility.PRIVATE, beforeId, PageRequest.of(0, limit));
+    }
+    
+    private Set<Long> connectionIdsOrNull(Long userId) {
+        try {
+            return graphQueryService.getConnectionIds(userId);
+        } catch (RestClientException e) {
+            logger.warn("Failed to fetch connections of user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+}
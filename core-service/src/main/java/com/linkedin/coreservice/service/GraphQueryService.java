@@ -0,0 +1,84 @@
+package com.linkedin.coreservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkedin.coreservice.security.ServiceTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Read-side counterpart of GraphSyncService: synchronous lookups against people-graph-service.
+// Connection sets are cached for a short time so that visibility checks on a feed page or a
+// burst of post reads cost one graph call per viewer rather than one per post.
+@Service
+public class GraphQueryService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GraphQueryService.class);
+    
+    private final RestTemplate restTemplate;
+    private final String graphServiceUrl;
+    private final ServiceTokenProvider serviceTokenProvider;
+    private final Cache<Long, Set<Long>> connections;
+    
+    @Autowired
+    public GraphQueryService(@Value("${graph.service.url}") String graphServiceUrl,
+                             RestTemplate restTemplate,
+                             ServiceTokenProvider serviceTokenProvider,
+                             MeterRegistry meterRegistry,
+                             @Value("${graph.connections-cache.max-size:50000}") long maxSize,
+                             @Value("${graph.connections-cache.ttl:30s}") Duration ttl) {
+        this.graphServiceUrl = graphServiceUrl;
+        this.restTemplate = restTemplate;
+        this.serviceTokenProvider = serviceTokenProvider;
+        this.connections = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, connections, "connectionIds");
+    }
+    
+    // Throws RestClientException when the graph service cannot answer; failures are not cached
+    public Set<Long> getConnectionIds(Long userId) {
+        return connections.get(userId, this::fetchConnectionIds);
+    }
+    
+    public boolean isConnected(Long userId, Long otherUserId) {
+        return getConnectionIds(userId).contains(otherUserId);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Set<Long> fetchConnectionIds(Long userId) {
+        String url = graphServiceUrl + "/api/graph/users/" + userId + "/connection-ids";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(serviceTokenProvider.getToken());
+        ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+        
+        Map<String, Object> body = response.getBody();
+        if (body == null || !(body.get("data") instanceof Map)) {
+            throw new RestClientException("Unexpected connection ids response for user " + userId);
+        }
+        List<Object> ids = (List<Object>) ((Map<String, Object>) body.get("data")).get("connectionIds");
+        logger.debug("Fetched {} connection ids for user {}", ids != null ? ids.size() : 0, userId);
+        
+        return ids == null ? Set.of() : ids.stream()
+                .map(id -> ((Number) id).longValue())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
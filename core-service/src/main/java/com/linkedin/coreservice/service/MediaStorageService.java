@@ -0,0 +1,161 @@
+package com.linkedin.coreservice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Content-addressed media store under upload.dir. Uploads are streamed to disk through a
+// channel while being hashed, so a file never has to fit in the heap, and are stored as
+// <sha256>.<ext>: the same bytes uploaded twice are kept once, and a stored file never
+// changes, which makes its hash a strong validator.
+@Service
+public class MediaStorageService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MediaStorageService.class);
+    
+    private static final Map<String, String> EXTENSIONS_BY_TYPE = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/webp", "webp",
+            "video/mp4", "mp4",
+            "application/pdf", "pdf");
+    private static final Map<String, String> TYPES_BY_EXTENSION = EXTENSIONS_BY_TYPE.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+    
+    // Names are only ever ones this service produced, which also rules out path traversal
+    private static final Pattern MEDIA_NAME = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9]{1,4}");
+    
+    private static final long TRANSFER_CHUNK_BYTES = 1 << 20;
+    
+    private final Path root;
+    private final Path incoming;
+    
+    public MediaStorageService(@Value("${upload.dir}") String uploadDir) throws IOException {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        // Same file system as the store, so finished uploads are moved into place by rename
+        this.incoming = Files.createDirectories(root.resolve("incoming"));
+    }
+    
+    // Throws IllegalArgumentException for empty files and unsupported content types
+    public StoredMedia store(MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        String contentType = file.getContentType() != null ? file.getContentType().toLowerCase(Locale.ROOT) : "";
+        String extension = EXTENSIONS_BY_TYPE.get(contentType);
+        if (extension == null) {
+            throw new IllegalArgumentException("Unsupported media type: " + file.getContentType());
+        }
+        
+        Path temp = Files.createTempFile(incoming, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+                 ReadableByteChannel source = Channels.newChannel(in);
+                 FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                size = 0;
+                long transferred;
+                while ((transferred = target.transferFrom(source, size, TRANSFER_CHUNK_BYTES)) > 0) {
+                    size += transferred;
+                }
+            }
+            
+            String name = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+            Path stored = pathFor(name);
+            if (Files.exists(stored)) {
+                logger.debug("Media {} already stored; discarding duplicate upload", name);
+            } else {
+                Files.createDirectories(stored.getParent());
+                // A concurrent upload of the same bytes may win the rename; both are identical
+                Files.move(temp, stored, StandardCopyOption.ATOMIC_MOVE);
+                logger.info("Stored media {} ({} bytes)", name, size);
+            }
+            return new StoredMedia(name, contentType, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    public Optional<StoredMedia> find(String name) throws IOException {
+        if (!MEDIA_NAME.matcher(name).matches()) {
+            return Optional.empty();
+        }
+        String contentType = TYPES_BY_EXTENSION.get(name.substring(name.indexOf('.') + 1));
+        Path path = pathFor(name);
+        if (contentType == null || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(new StoredMedia(name, contentType, Files.size(path)));
+    }
+    
+    public Path pathFor(StoredMedia media) {
+        return pathFor(media.getName());
+    }
+    
+    // Two levels of fan-out keep directories small: ab/cd/abcd....ext
+    private Path pathFor(String name) {
+        return root.resolve(name.substring(0, 2)).resolve(name.substring(2, 4)).resolve(name);
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    public static final class StoredMedia {
+        
+        private final String name;
+        private final String contentType;
+        private final long size;
+        
+        StoredMedia(String name, String contentType, long size) {
+            this.name = name;
+            this.contentType = contentType;
+            this.size = size;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public String getContentType() {
+            return contentType;
+        }
+        
+        public long getSize() {
+            return size;
+        }
+        
+        // Content-addressed, so the name is a strong validator for the bytes
+        public String getEtag() {
+            return "\"" + name.substring(0, name.indexOf('.')) + "\"";
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.linkedin.coreservice.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Like, comment and share counters of posts. Increments are accumulated as striped
+// in-memory deltas per post and periodically applied with batched relative UPDATEs, so a
+// burst of likes on one post neither serializes on its row lock nor loses updates to
+// read-modify-write races. Reads add the deltas that have not reached the database yet.
+@Service
+public class PostEngagementService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PostEngagementService.class);
+    
+    private static final String FLUSH_SQL = "UPDATE posts SET " +
+            "likes_count = likes_count + ?, " +
+            "comments_count = comments_count + ?, " +
+            "shares_count = shares_count + ? " +
+            "WHERE id = ?";
+    
+    public enum Counter {
+        LIKES, COMMENTS, SHARES
+    }
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final ConcurrentHashMap<Long, PendingCounts> pending = new ConcurrentHashMap<>();
+    
+    // Entries dropped from pending by the previous flush; drained once more for late writers
+    private List<PendingCounts> retired = new ArrayList<>();
+    
+    // Flushes run on their own thread so a long index rebuild on the shared scheduler cannot hold them back
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "post-engagement-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @Autowired
+    public PostEngagementService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${posts.engagement.flush-batch-size:500}") int batchSize,
+                                 @Value("${posts.engagement.flush-interval:1000}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+    
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                // An exception escaping a scheduled task would cancel every later flush
+                logger.error("Engagement counter flush failed: {}", e.getMessage(), e);
+            }
+        }, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public void record(Long postId, Counter counter, long delta) {
+        pending.computeIfAbsent(postId, PendingCounts::new).add(counter, delta);
+    }
+    
+    public Deltas getUnflushedDeltas(Long postId) {
+        PendingCounts counts = pending.get(postId);
+        return counts == null ? Deltas.NONE : counts.unflushed();
+    }
+    
+    public synchronized void flush() {
+        List<Drained> drained = new ArrayList<>();
+        List<PendingCounts> draining = retired;
+        for (PendingCounts counts : draining) {
+            counts.drainInto(drained);
+        }
+        retired = new ArrayList<>();
+        
+        for (PendingCounts counts : pending.values()) {
+            if (!counts.drainInto(drained) && counts.isIdle() && pending.remove(counts.postId, counts)) {
+                retired.add(counts);
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        
+        // Rows are always locked in id order, so concurrent flushes from several instances cannot deadlock
+        drained.sort(Comparator.comparingLong(entry -> entry.counts.postId));
+        for (int from = 0; from < drained.size(); from += batchSize) {
+            apply(drained.subList(from, Math.min(from + batchSize, drained.size())));
+        }
+        
+        // Deltas of retired entries that failed to flush are retried on the next flush
+        for (PendingCounts counts : draining) {
+            if (!counts.isIdle()) {
+                retired.add(counts);
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+    
+    private void apply(List<Drained> batch) {
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (Drained entry : batch) {
+            args.add(new Object[]{entry.likes, entry.comments, entry.shares, entry.counts.postId});
+        }
+        
+        boolean applied = false;
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, args));
+            applied = true;
+        } catch (DataAccessException | TransactionException e) {
+            // The batch was rolled back as a whole; its deltas go back to pending for the next flush
+            logger.warn("Failed to flush engagement counters of {} posts: {}", batch.size(), e.getMessage());
+        }
+        for (Drained entry : batch) {
+            entry.counts.settle(entry, applied);
+        }
+    }
+    
+    public static final class Deltas {
+        
+        public static final Deltas NONE = new Deltas(0, 0, 0);
+        
+        private final long likes;
+        private final long comments;
+        private final long shares;
+        
+        Deltas(long likes, long comments, long shares) {
+            this.likes = likes;
+            this.comments = comments;
+            this.shares = shares;
+        }
+        
+        public long getLikes() {
+            return likes;
+        }
+        
+        public long getComments() {
+            return comments;
+        }
+        
+        public long getShares() {
+            return shares;
+        }
+    }
+    
+    private static final class PendingCounts {
+        
+        private final long postId;
+        private final LongAdder[] pending = {new LongAdder(), new LongAdder(), new LongAdder()};
+        
+        // Taken out of pending by a flush whose UPDATE has not committed yet
+        private final AtomicLongArray inFlight = new AtomicLongArray(3);
+        
+        PendingCounts(Long postId) {
+            this.postId = postId;
+        }
+        
+        void add(Counter counter, long delta) {
+            pending[counter.ordinal()].add(delta);
+        }
+        
+        // May briefly count a delta twice while it moves to in-flight, but never drops one
+        Deltas unflushed() {
+            return new Deltas(total(Counter.LIKES), total(Counter.COMMENTS), total(Counter.SHARES));
+        }
+        
+        boolean isIdle() {
+            for (int i = 0; i < 3; i++) {
+                if (pending[i].sum() != 0 || inFlight.get(i) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        // Moves the current deltas to in-flight by subtracting them rather than resetting,
+        // so increments racing with the flush stay pending
+        boolean drainInto(List<Drained> drained) {
+            long likes = pending[0].sum();
+            long comments = pending[1].sum();
+            long shares = pending[2].sum();
+            if (likes == 0 && comments == 0 && shares == 0) {
+                return false;
+            }
+            move(0, likes);
+            move(1, comments);
+            move(2, shares);
+            drained.add(new Drained(this, likes, comments, shares));
+            return true;
+        }
+        
+        void settle(Drained entry, boolean applied) {
+            if (!applied) {
+                pending[0].add(entry.likes);
+                pending[1].add(entry.comments);
+                pending[2].add(entry.shares);
+            }
+            inFlight.addAndGet(0, -entry.likes);
+            inFlight.addAndGet(1, -entry.comments);
+            inFlight.addAndGet(2, -entry.shares);
+        }
+        
+        private void move(int counter, long delta) {
+            inFlight.addAndGet(counter, delta);
+            pending[counter].add(-delta);
+        }
+        
+        private long total(Counter counter) {
+            return pending[counter.ordinal()].sum() + inFlight.get(counter.ordinal());
+        }
+    }
+    
+    private static final class Drained {
+        
+        private final PendingCounts counts;
+        private final long likes;
+        private final long comments;
+        private final long shares;
+        
+        Drained(PendingCounts counts, long likes, long comments, long shares) {
+            this.counts = counts;
+            this.likes = likes;
+            this.comments = comments;
+            this.shares = shares;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.linkedin.coreservice.service;
+
+import com.linkedin.coreservice.dto.CursorPage;
+import com.linkedin.coreservice.dto.PostView;
+import com.linkedin.coreservice.entity.Post;
+import com.linkedin.coreservice.event.PostChangedEvent;
+import com.linkedin.coreservice.repository.PostRepository;
+import com.linkedin.coreservice.search.IndexSynchronizer;
+import com.linkedin.coreservice.search.InvertedIndex;
+import com.linkedin.coreservice.search.PostSearchDocument;
+import com.linkedin.coreservice.search.ScoreCursor;
+import com.linkedin.coreservice.search.SearchHit;
+import com.linkedin.coreservice.search.SearchResult;
+import com.linkedin.coreservice.search.TextAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Full-text search over active posts' content, ranked by BM25 relevance weighted by
+// recency and paged by (score, id) keyset cursors. Built by streaming the posts table,
+// kept current from PostChangedEvent and caught up from updated_at for writes made on
+// other instances, like UserSearchService.
+@Service
+public class PostSearchService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchService.class);
+    
+    private final PostService postService;
+    private final GraphQueryService graphQueryService;
+    private final double recencyHalfLifeSeconds;
+    private final IndexSynchronizer<InvertedIndex<PostSearchDocument.Attributes>, PostSearchDocument> sync;
+    
+    @Autowired
+    public PostSearchService(PostRepository postRepository,
+                             PostService postService,
+                             GraphQueryService graphQueryService,
+                             @Value("${posts.search.recency-half-life:7d}") Duration recencyHalfLife) {
+        this.postService = postService;
+        this.graphQueryService = graphQueryService;
+        this.recencyHalfLifeSeconds = recencyHalfLife.getSeconds();
+        this.sync = new IndexSynchronizer<>("post search index",
+                () -> postRepository.streamSearchDocumentsByStatus(Post.PostStatus.ACTIVE),
+                PostSearchService::load,
+                postRepository::findSearchDocumentsUpdatedAfter,
+                PostSearchService::applyTo);
+    }
+    
+    // Returns null until the first build completes. Throws IllegalArgumentException for a
+    // malformed cursor. Hydration is the only database access and runs in its own transaction,
+    // after the connections have been fetched.
+    public CursorPage<PostView> search(String query, Long viewerId, String cursor, int size) {
+        InvertedIndex<PostSearchDocument.Attributes> current = sync.current();
+        if (current == null) {
+            return null;
+        }
+        ScoreCursor position = ScoreCursor.decode(cursor);
+        long asOf = position != null ? position.getAsOfEpochSecond() : Instant.now().getEpochSecond();
+        Set<Long> connectionIds = connectionIdsOrEmpty(viewerId);
+        
+        List<String> terms = TextAnalyzer.tokenize(query);
+        SearchResult result = current.search(terms, false,
+                attributes -> attributes.visibleTo(viewerId, connectionIds),
+                recencyBoost(asOf), position != null ? position.getAfter() : null, size);
+        
+        List<SearchHit> hits = result.getHits();
+        List<Long> postIds = hits.stream()
+                .map(SearchHit::getDocId)
+                .collect(Collectors.toList());
+        String nextCursor = hits.size() == size
+                ? new ScoreCursor(asOf, hits.get(size - 1)).encode()
+                : null;
+        return new CursorPage<>(postService.hydrate(postIds, viewerId, connectionIds), nextCursor);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        sync.apply(PostSearchDocument.fromPost(event.getPost()));
+    }
+    
+    @Scheduled(initialDelayString = "${posts.search.initial-delay:0}",
+               fixedDelayString = "${posts.search.rebuild-interval:21600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        sync.rebuild();
+    }
+    
+    @Scheduled(fixedDelayString = "${posts.search.catch-up-interval:10000}")
+    @Transactional(readOnly = true)
+    public void catchUp() {
+        sync.catchUp();
+    }
+    
+    // Halves the weight of a post's relevance every half-life of age, down to half of it,
+    // so a strong older match still outranks a weak fresh one
+    private ToDoubleFunction<PostSearchDocument.Attributes> recencyBoost(long asOfEpochSecond) {
+        return attributes -> {
+            double age = Math.max(0, asOfEpochSecond - attributes.getCreatedAtEpochSecond());
+            return 0.5 + 0.5 * Math.pow(2, -age / recencyHalfLifeSeconds);
+        };
+    }
+    
+    private Set<Long> connectionIdsOrEmpty(Long viewerId) {
+        try {
+            return graphQueryService.getConnectionIds(viewerId);
+        } catch (RestClientException e) {
+            // Connections-only posts stay hidden until the graph service answers again
+            logger.warn("Failed to fetch connections of user {}: {}", viewerId, e.getMessage());
+            return Set.of();
+        }
+    }
+    
+    private static InvertedIndex<PostSearchDocument.Attributes> load(Stream<PostSearchDocument> documents) {
+        InvertedIndex<PostSearchDocument.Attributes> building = new InvertedIndex<>();
+        documents.forEach(document -> building.put(document.getId(), document.tokens(), document.attributes()));
+        return building;
+    }
+    
+    private static void applyTo(InvertedIndex<PostSearchDocument.Attributes> target, PostSearchDocument document) {
+        if (document.getStatus() == Post.PostStatus.ACTIVE) {
+            target.put(document.getId(), document.tokens(), document.attributes());
+        } else {
+            target.remove(document.getId());
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.linkedin.coreservice.service;
+
+import com.linkedin.coreservice.dto.PostRequest;
+import com.linkedin.coreservice.dto.PostView;
+import com.linkedin.coreservice.dto.UserCard;
+import com.linkedin.coreservice.entity.Post;
+import com.linkedin.coreservice.entity.User;
+import com.linkedin.coreservice.event.PostChangedEvent;
+import com.linkedin.coreservice.exception.PostNotFoundException;
+import com.linkedin.coreservice.exception.UserNotFoundException;
+import com.linkedin.coreservice.repository.PostRepository;
+import com.linkedin.coreservice.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class PostService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PostService.class);
+    
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final GraphQueryService graphQueryService;
+    private final PostEngagementService engagementService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    
+    @Autowired
+    public PostService(PostRepository postRepository,
+                       UserRepository userRepository,
+                       UserService userService,
+                       GraphQueryService graphQueryService,
+                       PostEngagementService engagementService,
+                       ApplicationEventPublisher eventPublisher,
+                       PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.graphQueryService = graphQueryService;
+        this.engagementService = engagementService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+    
+    public PostView createPost(Long authorId, PostRequest request) {
+        User author = userRepository.findById(authorId)
+                .filter(user -> user.getStatus() == User.UserStatus.ACTIVE)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + authorId));
+        
+        Post post = new Post(author, request.getContent(),
+                request.getVisibility() != null ? request.getVisibility() : Post.PostVisibility.PUBLIC);
+        if (request.getMediaUrls() != null) {
+            post.setMediaUrls(new ArrayList<>(request.getMediaUrls()));
+        }
+        
+        Post savedPost = postRepository.save(post);
+        logger.info("Post created with ID {} by user {}", savedPost.getId(), authorId);
+        
+        // Timelines and the search index are updated after commit
+        eventPublisher.publishEvent(new PostChangedEvent(savedPost, PostChangedEvent.Type.CREATED));
+        
+        return PostView.from(savedPost, UserCard.fromUser(author));
+    }
+    
+    // Posts the viewer may not see are hidden rather than forbidden. Throws RestClientException
+    // when a connections-only post has to be checked and the graph service cannot answer.
+    // Visibility is resolved before the transaction opens, as for likes below, so waiting on
+    // the graph service never holds a database connection.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PostView getPost(Long id, Long viewerId) {
+        Post.PostVisibility checked = checkVisible(id, viewerId);
+        
+        return readOnlyTransactionTemplate.execute(status -> {
+            Post post = findVisiblePost(id, viewerId, checked);
+            List<UserCard> author = userService.findActiveCardsByIds(List.of(post.getUser().getId()));
+            if (author.isEmpty()) {
+                throw new PostNotFoundException("Post not found with ID: " + id);
+            }
+            return toView(post, author.get(0));
+        });
+    }
+    
+    // A like is a row in post_likes and the counter only moves when that row is inserted or
+    // deleted. The delta itself is recorded after commit and flushed in batches, never by
+    // updating the post here. Both return the resulting count, including unflushed deltas.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long likePost(Long id, Long viewerId) {
+        Post.PostVisibility checked = checkVisible(id, viewerId);
+        
+        return transactionTemplate.execute(status -> {
+            Post post = findVisiblePost(id, viewerId, checked);
+            boolean inserted = postRepository.insertLike(viewerId, id) == 1;
+            return recordLikeAfterCommit(post, inserted ? 1 : 0);
+        });
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long unlikePost(Long id, Long viewerId) {
+        Post.PostVisibility checked = checkVisible(id, viewerId);
+        
+        return transactionTemplate.execute(status -> {
+            Post post = findVisiblePost(id, viewerId, checked);
+            boolean deleted = postRepository.deleteLike(viewerId, id) == 1;
+            return recordLikeAfterCommit(post, deleted ? -1 : 0);
+        });
+    }
+    
+    public PostView updatePost(Long id, Long requesterId, PostRequest request) {
+        Post post = findOwnedPost(id, requesterId, "Only the author can edit a post");
+        
+        post.setContent(request.getContent());
+        if (request.getVisibility() != null) {
+            post.setVisibility(request.getVisibility());
+        }
+        if (request.getMediaUrls() != null) {
+            post.setMediaUrls(new ArrayList<>(request.getMediaUrls()));
+        }
+        Post savedPost = postRepository.saveAndFlush(post);
+        
+        eventPublisher.publishEvent(new PostChangedEvent(savedPost, PostChangedEvent.Type.UPDATED));
+        logger.info("Post updated with ID {}", id);
+        
+        List<UserCard> author = userService.findActiveCardsByIds(List.of(requesterId));
+        if (author.isEmpty()) {
+            throw new PostNotFoundException("Post not found with ID: " + id);
+        }
+        return toView(savedPost, author.get(0));
+    }
+    
+    public void deletePost(Long id, Long requesterId) {
+        Post post = findOwnedPost(id, requesterId, "Only the author can delete a post");
+        
+        post.setStatus(Post.PostStatus.DELETED);
+        Post savedPost = postRepository.saveAndFlush(post);
+        
+        eventPublisher.publishEvent(new PostChangedEvent(savedPost, PostChangedEvent.Type.DELETED));
+        logger.info("Post deleted with ID {}", id);
+    }
+    
+    // One query for the posts and one for their authors; keeps the order of ids and skips
+    // posts that were deleted, that the viewer may not see given their connection ids, or
+    // whose author is no longer active
+    @Transactional(readOnly = true)
+    public List<PostView> hydrate(List<Long> postIds, Long viewerId, Set<Long> connectionIds) {
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        // The viewer is always part of the audience, which also keeps the IN list non-empty
+        Set<Long> audienceIds = new HashSet<>(connectionIds);
+        audienceIds.add(viewerId);
+        
+        Map<Long, Post> postsById = postRepository.findVisibleWithMediaByIdIn(postIds, Post.PostStatus.ACTIVE,
+                        viewerId, audienceIds, Post.PostVisibility.PUBLIC, Post.PostVisibility.CONNECTIONS)
+                .stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<Long> authorIds = postsById.values().stream()
+                .map(post -> post.getUser().getId())
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, UserCard> authorsById = userService.findActiveCardsByIds(authorIds).stream()
+                .collect(Collectors.toMap(UserCard::getId, Function.identity()));
+        
+        return postIds.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .filter(post -> authorsById.containsKey(post.getUser().getId()))
+                .map(post -> toView(post, authorsById.get(post.getUser().getId())))
+                .collect(Collectors.toList());
+    }
+    
+    // Runs outside any transaction; the lookup commits on its own before the graph service is
+    // asked about a connections-only post. Posts the viewer may not see are reported as not found.
+    private Post.PostVisibility checkVisible(Long id, Long viewerId) {
+        Post post = postRepository.findByIdAndStatus(id, Post.PostStatus.ACTIVE)
+                .orElseThrow(() -> new PostNotFoundException("Post not found with ID: " + id));
+        if (!post.getUser().getId().equals(viewerId) && !isVisibleToOthers(post, viewerId)) {
+            throw new PostNotFoundException("Post not found with ID: " + id);
+        }
+        return post.getVisibility();
+    }
+    
+    // Reloads a post checkVisible() accepted with the given visibility. A post made less visible
+    // in between is reported as not found rather than checked against the graph service again.
+    private Post findVisiblePost(Long id, Long viewerId, Post.PostVisibility checked) {
+        Post post = postRepository.findByIdAndStatus(id, Post.PostStatus.ACTIVE)
+                .orElseThrow(() -> new PostNotFoundException("Post not found with ID: " + id));
+        if (!post.getUser().getId().equals(viewerId)
+                && post.getVisibility() != Post.PostVisibility.PUBLIC
+                && post.getVisibility() != checked) {
+            throw new PostNotFoundException("Post not found with ID: " + id);
+        }
+        return post;
+    }
+    
+    private Post findOwnedPost(Long id, Long requesterId, String deniedMessage) {
+        Post post = postRepository.findByIdAndStatus(id, Post.PostStatus.ACTIVE)
+                .orElseThrow(() -> new PostNotFoundException("Post not found with ID: " + id));
+        if (!post.getUser().getId().equals(requesterId)) {
+            throw new AccessDeniedException(deniedMessage);
+        }
+        return post;
+    }
+    
+    private long recordLikeAfterCommit(Post post, long delta) {
+        long likes = post.getLikesCount() + engagementService.getUnflushedDeltas(post.getId()).getLikes();
+        if (delta != 0) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    engagementService.record(post.getId(), PostEngagementService.Counter.LIKES, delta);
+                }
+            });
+        }
+        return likes + delta;
+    }
+    
+    private PostView toView(Post post, UserCard author) {
+        PostEngagementService.Deltas deltas = engagementService.getUnflushedDeltas(post.getId());
+        return PostView.from(post, author)
+                .withCountDeltas(deltas.getLikes(), deltas.getComments(), deltas.getShares());
+    }
+    
+    private boolean isVisibleToOthers(Post post, Long viewerId) {
+        switch (post.getVisibility()) {
+            case PUBLIC:
+                return true;
+            case CONNECTIONS:
+                return graphQueryService.isConnected(viewerId, post.getUser().getId());
+            default:
+                return false;
+        }
+    }
+}
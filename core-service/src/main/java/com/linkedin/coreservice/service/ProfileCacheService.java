@@ -0,0 +1,127 @@
+package com.linkedin.coreservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkedin.coreservice.entity.User;
+import com.linkedin.coreservice.event.UserChangedEvent;
+import com.linkedin.coreservice.exception.UserNotFoundException;
+import com.linkedin.coreservice.repository.UserRepository;
+import com.linkedin.coreservice.util.UserMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Read-through cache of the serialized public profile of each user, together with its
+// ETag and Last-Modified validators. Concurrent misses for the same id share a single
+// load, so a popular profile is read and serialized once per change instead of once per
+// request, and revalidations are answered from the cached validators alone.
+@Service
+public class ProfileCacheService {
+    
+    private static final byte[] DATA_USER_FIELD = ",\"data\":{\"user\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TIMESTAMP_FIELD = "},\"timestamp\":".getBytes(StandardCharsets.UTF_8);
+    
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, CachedProfile> profiles;
+    
+    @Autowired
+    public ProfileCacheService(UserRepository userRepository,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${users.profile-cache.max-size:100000}") long maxSize,
+                               @Value("${users.profile-cache.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles, "userProfiles");
+    }
+    
+    // Throws UserNotFoundException when there is no such user; misses are not cached
+    public CachedProfile getProfile(Long id) {
+        return profiles.get(id, this::loadProfile);
+    }
+    
+    // Wraps cached profile JSON in the ApiResponse envelope: {"success":true,"message":..,"data":{"user":..},"timestamp":..}
+    public byte[] toSuccessResponse(String message, byte[] profileJson) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(profileJson.length + 128);
+            out.write("{\"success\":true,\"message\":".getBytes(StandardCharsets.UTF_8));
+            out.write(objectMapper.writeValueAsBytes(message));
+            out.write(DATA_USER_FIELD);
+            out.write(profileJson);
+            out.write(TIMESTAMP_FIELD);
+            out.write(objectMapper.writeValueAsBytes(LocalDateTime.now()));
+            out.write('}');
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        profiles.invalidate(event.getUserId());
+    }
+    
+    // Reads the repository directly rather than the cached UserService lookups, whose
+    // eviction may not have run yet when this listener invalidates the profile
+    private CachedProfile loadProfile(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + id));
+        try {
+            Instant updatedAt = user.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant();
+            // Weak validator: the profile changes exactly when updated_at does, but the envelope
+            // around it carries a per-response message and timestamp, so the bytes differ
+            String etag = "W/\"" + user.getId() + "-" + Long.toHexString(
+                    updatedAt.getEpochSecond() * 1_000_000L + updatedAt.getNano() / 1_000) + "\"";
+            return new CachedProfile(objectMapper.writeValueAsBytes(UserMapper.toSanitizedMap(user)),
+                    etag, updatedAt.toEpochMilli());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    public static final class CachedProfile {
+        private final byte[] json;
+        private final String etag;
+        private final long lastModified;
+        
+        private CachedProfile(byte[] json, String etag, long lastModified) {
+            this.json = json;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+        
+        public byte[] getJson() {
+            return json;
+        }
+        
+        public String getEtag() {
+            return etag;
+        }
+        
+        // Epoch milliseconds of the user's updated_at
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.linkedin.coreservice.service;
+
+import com.linkedin.coreservice.config.CacheConfig;
+import com.linkedin.coreservice.event.UserChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Evicts cached users only once the change is committed, so a concurrent reader
+// cannot repopulate the cache with the pre-commit row
+@Component
+public class UserCacheInvalidator {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserCacheInvalidator.class);
+    
+    private final CacheManager cacheManager;
+    
+    @Autowired
+    public UserCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(CacheConfig.USERS_BY_ID, event.getUserId());
+        evict(CacheConfig.USERS_BY_EMAIL, event.getEmail().toLowerCase());
+        logger.debug("Evicted cached user: {}", event.getUserId());
+    }
+    
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
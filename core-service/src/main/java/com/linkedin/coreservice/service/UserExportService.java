@@ -0,0 +1,58 @@
+package com.linkedin.coreservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.linkedin.coreservice.dto.UserCard;
+import com.linkedin.coreservice.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Writes every user as one JSON object per line (NDJSON), in id order. Rows are streamed
+// from a server-side cursor and written as they arrive, so memory use does not depend on
+// the number of users. A client that loses the connection resumes with the last id it saw.
+@Service
+public class UserExportService {
+    
+    private static final int FLUSH_EVERY_ROWS = 1000;
+    
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter cardWriter;
+    
+    @Autowired
+    public UserExportService(UserRepository userRepository, ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        // Flushing is batched below rather than after every row
+        this.cardWriter = objectMapper.writerFor(UserCard.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+    
+    // Returns the number of users written
+    @Transactional(readOnly = true)
+    public long exportCards(long afterId, OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<UserCard> cards = userRepository.streamCardsAfterId(afterId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            
+            Iterator<UserCard> iterator = cards.iterator();
+            while (iterator.hasNext()) {
+                cardWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_EVERY_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+}
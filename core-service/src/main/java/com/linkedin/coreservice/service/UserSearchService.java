@@ -0,0 +1,85 @@
+package com.linkedin.coreservice.service;
+
+import com.linkedin.coreservice.entity.User;
+import com.linkedin.coreservice.event.UserChangedEvent;
+import com.linkedin.coreservice.repository.UserRepository;
+import com.linkedin.coreservice.search.IndexSynchronizer;
+import com.linkedin.coreservice.search.InvertedIndex;
+import com.linkedin.coreservice.search.SearchResult;
+import com.linkedin.coreservice.search.TextAnalyzer;
+import com.linkedin.coreservice.search.UserSearchDocument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Full-text search over active users' names and headlines, ranked by relevance.
+// The index is built by streaming the users table, kept current from UserChangedEvent,
+// and caught up from updated_at for writes made on other instances.
+@Service
+public class UserSearchService {
+    
+    // Deepest hit a search can page to
+    public static final int MAX_RESULT_WINDOW = 1000;
+    
+    private final IndexSynchronizer<InvertedIndex<UserSearchDocument.Facets>, UserSearchDocument> sync;
+    
+    @Autowired
+    public UserSearchService(UserRepository userRepository) {
+        this.sync = new IndexSynchronizer<>("user search index",
+                () -> userRepository.streamSearchDocumentsByStatus(User.UserStatus.ACTIVE),
+                UserSearchService::load,
+                userRepository::findSearchDocumentsUpdatedAfter,
+                UserSearchService::applyTo);
+    }
+    
+    // Returns null until the first build completes so callers can fall back to SQL
+    public SearchResult search(String query, String industry, String location, int limit) {
+        InvertedIndex<UserSearchDocument.Facets> current = sync.current();
+        if (current == null) {
+            return null;
+        }
+        List<String> terms = TextAnalyzer.tokenize(query);
+        // A query still being typed ("john sm") matches its last word as a prefix
+        boolean prefixLastTerm = !query.isEmpty() && Character.isLetterOrDigit(query.charAt(query.length() - 1));
+        return current.search(terms, prefixLastTerm,
+                industry == null && location == null ? null : facets -> facets.matches(industry, location),
+                Math.min(limit, MAX_RESULT_WINDOW));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        sync.apply(UserSearchDocument.fromUser(event.getUser()));
+    }
+    
+    @Scheduled(initialDelayString = "${users.search.initial-delay:0}",
+               fixedDelayString = "${users.search.rebuild-interval:21600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        sync.rebuild();
+    }
+    
+    @Scheduled(fixedDelayString = "${users.search.catch-up-interval:10000}")
+    @Transactional(readOnly = true)
+    public void catchUp() {
+        sync.catchUp();
+    }
+    
+    private static InvertedIndex<UserSearchDocument.Facets> load(Stream<UserSearchDocument> documents) {
+        InvertedIndex<UserSearchDocument.Facets> building = new InvertedIndex<>();
+        documents.forEach(document -> building.put(document.getId(), document.tokens(), document.facets()));
+        return building;
+    }
+    
+    private static void applyTo(InvertedIndex<UserSearchDocument.Facets> target, UserSearchDocument document) {
+        if (document.getStatus() == User.UserStatus.ACTIVE) {
+            target.put(document.getId(), document.tokens(), document.facets());
+        } else {
+            target.remove(document.getId());
+        }
+    }
+}
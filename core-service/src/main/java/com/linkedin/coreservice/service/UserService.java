@@ -1,20 +1,40 @@
 package com.linkedin.coreservice.service;
 
+import com.linkedin.coreservice.config.CacheConfig;
+import com.linkedin.coreservice.dto.CursorPage;
+import com.linkedin.coreservice.dto.UserCard;
 import com.linkedin.coreservice.dto.UserRegistrationRequest;
 import com.linkedin.coreservice.entity.User;
+import com.linkedin.coreservice.event.UserChangedEvent;
 import com.linkedin.coreservice.exception.EmailAlreadyExistsException;
 import com.linkedin.coreservice.exception.UserNotFoundException;
 import com.linkedin.coreservice.repository.UserRepository;
+import com.linkedin.coreservice.search.SearchHit;
+import com.linkedin.coreservice.search.SearchResult;
+import com.linkedin.coreservice.util.KeysetCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -22,31 +42,46 @@ public class UserService {
     
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
     
+    // MySQL ER_DUP_ENTRY. A new users row can only collide on its email, whatever name the
+    // unique key has (databases baselined at V1 carry the one Hibernate generated)
+    private static final int DUPLICATE_KEY_ERROR = 1062;
+    
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final GraphSyncService graphSyncService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmailBloomFilter emailBloomFilter;
+    private final UserSearchService userSearchService;
     
     @Autowired
     public UserService(UserRepository userRepository, 
-                      PasswordEncoder passwordEncoder,
-                      GraphSyncService graphSyncService) {
+                      PasswordHashingService passwordHashingService,
+                      GraphSyncService graphSyncService,
+                      ApplicationEventPublisher eventPublisher,
+                      EmailBloomFilter emailBloomFilter,
+                      UserSearchService userSearchService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.graphSyncService = graphSyncService;
+        this.eventPublisher = eventPublisher;
+        this.emailBloomFilter = emailBloomFilter;
+        this.userSearchService = userSearchService;
     }
     
     public User createUser(UserRegistrationRequest request) {
         logger.info("Creating new user with email: {}", request.getEmail());
         
-        // Check if user already exists
-        if (userRepository.existsByEmail(request.getEmail())) {
+        // Check if user already exists; a definite miss in the email filter skips the query
+        // and leaves duplicate detection to the unique constraint
+        if (emailBloomFilter.mightContain(request.getEmail())
+                && userRepository.existsByEmail(request.getEmail())) {
             throw new EmailAlreadyExistsException("User with email " + request.getEmail() + " already exists");
         }
         
         // Create user entity
         User user = new User();
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setHeadline(request.getHeadline());
@@ -56,9 +91,20 @@ public class UserService {
         user.setStatus(User.UserStatus.ACTIVE);
         
         // Save user
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateKey(e)) {
+                throw e;
+            }
+            throw new EmailAlreadyExistsException("User with email " + request.getEmail() + " already exists", e);
+        }
+        emailBloomFilter.add(savedUser.getEmail());
         logger.info("User created successfully with ID: {}", savedUser.getId());
         
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser, UserChangedEvent.Type.CREATED));
+        
         // Sync with graph service asynchronously
         try {
             graphSyncService.syncUser(savedUser);
@@ -69,17 +115,21 @@ public class UserService {
         return savedUser;
     }
     
+    // Misses are not cached so a later registration is visible immediately
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#email.toLowerCase()", unless = "#result == null")
     @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
     
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_ID, key = "#id")
     @Transactional(readOnly = true)
     public User findById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + id));
     }
     
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_ID, key = "#id", unless = "#result == null")
     @Transactional(readOnly = true)
     public Optional<User> findByIdOptional(Long id) {
         return userRepository.findById(id);
@@ -89,6 +139,9 @@ public class UserService {
         logger.info("Updating user with ID: {}", id);
         
         User user = findById(id);
+        User.UserStatus previousStatus = user.getStatus();
+        String previousIndustry = user.getIndustry();
+        String previousLocation = user.getLocation();
         
         // Update fields if provided
         if (request.getFirstName() != null) {
@@ -110,12 +163,15 @@ public class UserService {
             user.setIndustry(request.getIndustry());
         }
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(request.getPassword()));
+            user.setPassword(passwordHashingService.encode(request.getPassword()));
         }
         
         User updatedUser = userRepository.save(user);
         logger.info("User updated successfully with ID: {}", updatedUser.getId());
         
+        eventPublisher.publishEvent(new UserChangedEvent(updatedUser, UserChangedEvent.Type.UPDATED,
+                previousStatus, previousIndustry, previousLocation));
+        
         // Sync with graph service asynchronously
         try {
             graphSyncService.syncUser(updatedUser);
@@ -130,20 +186,33 @@ public class UserService {
         logger.info("Deleting user with ID: {}", id);
         
         User user = findById(id);
+        User.UserStatus previousStatus = user.getStatus();
         user.setStatus(User.UserStatus.INACTIVE);
         userRepository.save(user);
         
+        eventPublisher.publishEvent(new UserChangedEvent(user, UserChangedEvent.Type.DEACTIVATED,
+                previousStatus, user.getIndustry(), user.getLocation()));
+        
         logger.info("User deleted successfully with ID: {}", id);
     }
     
     @Transactional(readOnly = true)
-    public Page<User> findAllActiveUsers(Pageable pageable) {
-        return userRepository.findByStatus(User.UserStatus.ACTIVE, pageable);
+    public Page<UserCard> findAllActiveUsers(Pageable pageable) {
+        return userRepository.findCardsByStatus(User.UserStatus.ACTIVE, pageable);
     }
     
     @Transactional(readOnly = true)
-    public Page<User> searchUsers(String industry, String location, String search, Pageable pageable) {
-        return userRepository.findByStatusAndFilters(
+    public Page<UserCard> searchUsers(String industry, String location, String search, Pageable pageable) {
+        // Text queries are answered from the search index, ranked by relevance; SQL only
+        // serves filter-only listings and the window before the index is first built
+        if (search != null) {
+            SearchResult result = userSearchService.search(search, industry, location,
+                (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE));
+            if (result != null) {
+                return hydrateSearchPage(result, pageable);
+            }
+        }
+        return userRepository.findCardsByStatusAndFilters(
             User.UserStatus.ACTIVE, 
             industry, 
             location, 
@@ -152,13 +221,91 @@ public class UserService {
         );
     }
     
-    public boolean validatePassword(String plainPassword, String encodedPassword) {
-        return passwordEncoder.matches(plainPassword, encodedPassword);
+    // Fetches one extra row to learn whether another page exists without running a COUNT.
+    // A text query is matched by the search index and its hits are paged newest first by key;
+    // a query matching more than MAX_RESULT_WINDOW users pages through its best hits only.
+    @Transactional(readOnly = true)
+    public CursorPage<UserCard> findActiveUsersAfter(String industry, String location, String search,
+                                                     String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        LocalDateTime cursorCreatedAt = position != null ? position.getCreatedAt() : null;
+        Long cursorId = position != null ? position.getId() : null;
+        Pageable limit = PageRequest.of(0, size + 1);
+        
+        SearchResult result = search != null
+                ? userSearchService.search(search, industry, location, UserSearchService.MAX_RESULT_WINDOW)
+                : null;
+        
+        List<UserCard> users;
+        if (result != null) {
+            List<Long> hitIds = result.getHits().stream().map(SearchHit::getDocId).collect(Collectors.toList());
+            users = hitIds.isEmpty() ? List.of() : userRepository.findCardsByIdInAndStatusAfterCursor(
+                hitIds, User.UserStatus.ACTIVE, cursorCreatedAt, cursorId, limit);
+        } else if (industry != null || location != null || search != null) {
+            // Text queries only reach SQL before the index is first built
+            users = userRepository.findCardsByStatusAndFiltersAfterCursor(
+                User.UserStatus.ACTIVE, industry, location, search, cursorCreatedAt, cursorId, limit);
+        } else {
+            users = userRepository.findCardsByStatusAfterCursor(User.UserStatus.ACTIVE, cursorCreatedAt, cursorId, limit);
+        }
+        
+        if (users.size() <= size) {
+            return new CursorPage<>(users, null);
+        }
+        List<UserCard> content = users.subList(0, size);
+        UserCard last = content.get(size - 1);
+        return new CursorPage<>(content, new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
     }
     
+    // One IN query for the whole batch; cards come back in request order, skipping unknown or inactive ids
     @Transactional(readOnly = true)
+    public List<UserCard> findActiveCardsByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, UserCard> cardsById = userRepository.findCardsByIdIn(distinctIds).stream()
+                .filter(card -> card.getStatus() == User.UserStatus.ACTIVE)
+                .collect(Collectors.toMap(UserCard::getId, Function.identity()));
+        return distinctIds.stream()
+                .map(cardsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    private Page<UserCard> hydrateSearchPage(SearchResult result, Pageable pageable) {
+        List<SearchHit> hits = result.getHits();
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        List<Long> ids = hits.subList(from, hits.size()).stream()
+                .map(SearchHit::getDocId)
+                .collect(Collectors.toList());
+        
+        Map<Long, UserCard> usersById = userRepository.findCardsByIdIn(ids).stream()
+                .collect(Collectors.toMap(UserCard::getId, Function.identity()));
+        List<UserCard> users = ids.stream()
+                .map(usersById::get)
+                .filter(user -> user != null && user.getStatus() == User.UserStatus.ACTIVE)
+                .collect(Collectors.toList());
+        
+        return new PageImpl<>(users, pageable, Math.min(result.getTotalMatches(), UserSearchService.MAX_RESULT_WINDOW));
+    }
+    
+    public boolean validatePassword(String plainPassword, String encodedPassword) {
+        return passwordHashingService.matches(plainPassword, encodedPassword);
+    }
+    
+    // Runs without a surrounding transaction so no database connection is held
+    // while waiting for the password hashing pool
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User authenticate(String email, String password) {
-        User user = findByEmail(email)
+        // Unknown emails fail without a query. An email registered on another instance is only
+        // known here after the next catch-up (users.email-filter.catch-up-interval); registration
+        // already returns a token, so that window only affects a login from a second session.
+        if (!emailBloomFilter.mightContain(email)) {
+            throw new UserNotFoundException("Invalid email or password");
+        }
+        
+        User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("Invalid email or password"));
         
         if (!validatePassword(password, user.getPassword())) {
@@ -169,11 +316,69 @@ public class UserService {
             throw new UserNotFoundException("User account is not active");
         }
         
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            user = rehashPassword(user, password);
+        }
+        
         return user;
     }
     
+    private static boolean isDuplicateKey(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                return sqlException.getErrorCode() == DUPLICATE_KEY_ERROR;
+            }
+        }
+        return false;
+    }
+    
+    // Writes only the password column, and only while it still holds the hash that was just
+    // verified, so a password changed since the user was read is never overwritten
+    private User rehashPassword(User user, String password) {
+        try {
+            String rehashed = passwordHashingService.encode(password);
+            if (userRepository.updatePasswordIfUnchanged(user.getId(), user.getPassword(), rehashed) == 0) {
+                return user;
+            }
+            user.setPassword(rehashed);
+            logger.info("Rehashed password for user with ID: {}", user.getId());
+            
+            // Evicts cached copies of the user, which still hold the old hash
+            eventPublisher.publishEvent(new UserChangedEvent(user, UserChangedEvent.Type.UPDATED,
+                    user.getStatus(), user.getIndustry(), user.getLocation()));
+            return user;
+        } catch (Exception e) {
+            // The login already succeeded; the upgrade is retried on the next login
+            logger.warn("Failed to rehash password for user {}: {}", user.getId(), e.getMessage());
+            return user;
+        }
+    }
+    
     @Transactional(readOnly = true)
     public long getActiveUserCount() {
         return userRepository.countByStatus(User.UserStatus.ACTIVE);
     }
+    
+    @Transactional(readOnly = true)
+    public Map<String, Long> countActiveUsersByIndustry() {
+        return toCountMap(userRepository.countByStatusGroupByIndustry(User.UserStatus.ACTIVE));
+    }
+    
+    @Transactional(readOnly = true)
+    public Map<String, Long> countActiveUsersByLocation() {
+        return toCountMap(userRepository.countByStatusGroupByLocation(User.UserStatus.ACTIVE));
+    }
+    
+    private static Map<String, Long> toCountMap(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Long> findDeactivatedUserIdsSince(LocalDateTime since) {
+        return userRepository.findIdsByStatusNotAndUpdatedAtAfter(User.UserStatus.ACTIVE, since);
+    }
 }
@@ -0,0 +1,156 @@
+package com.linkedin.coreservice.service;
+
+import com.linkedin.coreservice.entity.User;
+import com.linkedin.coreservice.event.UserChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Active-user totals and per-industry / per-location histograms kept in memory. Counters
+// move with every UserChangedEvent and are periodically replaced by a fresh GROUP BY
+// snapshot, which also corrects drift from writes made on other instances.
+@Service
+public class UserStatisticsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserStatisticsService.class);
+    
+    private static final int TOP_BUCKETS = 10;
+    private static final long VIEW_MAX_AGE_NANOS = 1_000_000_000L;
+    
+    private final UserService userService;
+    
+    private volatile Counters counters;
+    private volatile View view;
+    
+    @Autowired
+    public UserStatisticsService(UserService userService) {
+        this.userService = userService;
+    }
+    
+    public long getActiveUserCount() {
+        return current().activeUsers.sum();
+    }
+    
+    // Rendered at most once per second; polling dashboards share the same view
+    public Map<String, Object> getStatistics() {
+        Counters current = current();
+        View cached = view;
+        if (cached != null && cached.counters == current && System.nanoTime() - cached.renderedAt < VIEW_MAX_AGE_NANOS) {
+            return cached.stats;
+        }
+        
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalActiveUsers", current.activeUsers.sum());
+        stats.put("topIndustries", top(current.industries));
+        stats.put("topLocations", top(current.locations));
+        stats.put("reconciledAt", current.reconciledAt);
+        view = new View(current, stats, System.nanoTime());
+        return stats;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        Counters current = counters;
+        if (current == null) {
+            return;
+        }
+        if (event.getPreviousStatus() == User.UserStatus.ACTIVE) {
+            current.add(event.getPreviousIndustry(), event.getPreviousLocation(), -1);
+        }
+        User user = event.getUser();
+        if (user.getStatus() == User.UserStatus.ACTIVE) {
+            current.add(user.getIndustry(), user.getLocation(), 1);
+        }
+    }
+    
+    @Scheduled(initialDelayString = "${users.stats.initial-delay:0}",
+               fixedDelayString = "${users.stats.reconcile-interval:300000}")
+    public synchronized void reconcile() {
+        long start = System.currentTimeMillis();
+        try {
+            Counters fresh = new Counters(LocalDateTime.now());
+            fresh.activeUsers.add(userService.getActiveUserCount());
+            userService.countActiveUsersByIndustry().forEach((industry, count) -> fresh.industries
+                    .computeIfAbsent(industry, key -> new LongAdder()).add(count));
+            userService.countActiveUsersByLocation().forEach((location, count) -> fresh.locations
+                    .computeIfAbsent(location, key -> new LongAdder()).add(count));
+            
+            Counters previous = counters;
+            counters = fresh;
+            if (previous != null && previous.activeUsers.sum() != fresh.activeUsers.sum()) {
+                logger.info("Corrected active user count drift: {} -> {}",
+                        previous.activeUsers.sum(), fresh.activeUsers.sum());
+            }
+            logger.debug("User statistics reconciled in {} ms", System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            logger.error("Failed to reconcile user statistics: {}", e.getMessage());
+        }
+    }
+    
+    private Counters current() {
+        Counters current = counters;
+        if (current == null) {
+            reconcile();
+            current = counters;
+            if (current == null) {
+                throw new IllegalStateException("User statistics are not available");
+            }
+        }
+        return current;
+    }
+    
+    private static Map<String, Long> top(Map<String, LongAdder> histogram) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        histogram.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(TOP_BUCKETS)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+    
+    private static final class Counters {
+        private final LocalDateTime reconciledAt;
+        private final LongAdder activeUsers = new LongAdder();
+        private final Map<String, LongAdder> industries = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> locations = new ConcurrentHashMap<>();
+        
+        private Counters(LocalDateTime reconciledAt) {
+            this.reconciledAt = reconciledAt;
+        }
+        
+        private void add(String industry, String location, long delta) {
+            activeUsers.add(delta);
+            if (industry != null) {
+                industries.computeIfAbsent(industry, key -> new LongAdder()).add(delta);
+            }
+            if (location != null) {
+                locations.computeIfAbsent(location, key -> new LongAdder()).add(delta);
+            }
+        }
+    }
+    
+    private static final class View {
+        private final Counters counters;
+        private final Map<String, Object> stats;
+        private final long renderedAt;
+        
+        private View(Counters counters, Map<String, Object> stats, long renderedAt) {
+            this.counters = counters;
+            this.stats = stats;
+            this.renderedAt = renderedAt;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.linkedin.coreservice.service;
+
+import com.linkedin.coreservice.dto.UserSuggestion;
+import com.linkedin.coreservice.entity.User;
+import com.linkedin.coreservice.event.UserChangedEvent;
+import com.linkedin.coreservice.repository.UserRepository;
+import com.linkedin.coreservice.search.IndexSynchronizer;
+import com.linkedin.coreservice.search.PrefixIndex;
+import com.linkedin.coreservice.search.UserSearchDocument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Name autocomplete served entirely from memory. Built by streaming active users,
+// updated from UserChangedEvent, and periodically rebuilt to compact accumulated changes.
+@Service
+public class UserTypeaheadService {
+    
+    private final IndexSynchronizer<PrefixIndex, UserSearchDocument> sync;
+    
+    @Autowired
+    public UserTypeaheadService(UserRepository userRepository) {
+        this.sync = new IndexSynchronizer<>("typeahead index",
+                () -> userRepository.streamSearchDocumentsByStatus(User.UserStatus.ACTIVE),
+                UserTypeaheadService::load,
+                userRepository::findSearchDocumentsUpdatedAfter,
+                UserTypeaheadService::applyTo);
+    }
+    
+    // Empty until the first build completes
+    public List<UserSuggestion> suggest(String query, int limit) {
+        PrefixIndex current = sync.current();
+        if (current == null) {
+            return List.of();
+        }
+        return current.complete(PrefixIndex.normalize(query), limit).stream()
+                .map(match -> new UserSuggestion(match.getId(), match.getLabel()))
+                .collect(Collectors.toList());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        sync.apply(UserSearchDocument.fromUser(event.getUser()));
+    }
+    
+    @Scheduled(initialDelayString = "${users.typeahead.initial-delay:0}",
+               fixedDelayString = "${users.typeahead.rebuild-interval:3600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        sync.rebuild();
+    }
+    
+    @Scheduled(fixedDelayString = "${users.typeahead.catch-up-interval:10000}")
+    @Transactional(readOnly = true)
+    public void catchUp() {
+        sync.catchUp();
+    }
+    
+    private static PrefixIndex load(Stream<UserSearchDocument> documents) {
+        PrefixIndex.Builder builder = PrefixIndex.builder();
+        documents.forEach(document -> builder.add(document.getId(), document.displayName(), document.nameKeys()));
+        return builder.build();
+    }
+    
+    private static void applyTo(PrefixIndex target, UserSearchDocument document) {
+        if (document.getStatus() == User.UserStatus.ACTIVE) {
+            target.put(document.getId(), document.displayName(), document.nameKeys());
+        } else {
+            target.remove(document.getId());
+        }
+    }
+}
@@ -1,16 +1,24 @@
 package com.linkedin.coreservice.util;
 
+import com.linkedin.coreservice.entity.User;
+import com.linkedin.coreservice.security.UserPrincipal;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -19,15 +27,39 @@ public class JwtUtil {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
     
+    private static final String USER_ID_CLAIM = "userId";
+    private static final String STATUS_CLAIM = "status";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String SERVICE_ROLE = "ROLE_SERVICE";
+    private static final String SERVICE_SUBJECT_PREFIX = "service:";
+    
     @Value("${jwt.secret}")
     private String secret;
     
     @Value("${jwt.expiration}")
     private Long jwtExpiration;
     
+    private SecretKey signingKey;
+    
+    private JwtParser jwtParser;
+    
+    @PostConstruct
+    void init() {
+        // Key derivation and parser construction are done once; JwtParser is immutable and thread-safe
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+    
     private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
+    }
+    
+    // Verifies signature and expiration; callers should keep the returned claims
+    // instead of re-parsing the token for individual fields
+    public Claims parseToken(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
     }
     
     public String extractUsername(String token) {
@@ -44,11 +76,7 @@ public class JwtUtil {
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseToken(token);
     }
     
     private Boolean isTokenExpired(String token) {
@@ -62,16 +90,37 @@ public class JwtUtil {
     
     public String generateToken(String username, Long userId) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", userId);
+        claims.put(USER_ID_CLAIM, userId);
         return createToken(claims, username);
     }
     
+    // Embeds everything needed to rebuild the principal without a database lookup
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(STATUS_CLAIM, user.getStatus().name());
+        claims.put(ROLES_CLAIM, List.of(UserPrincipal.DEFAULT_ROLE));
+        return createToken(claims, user.getEmail());
+    }
+    
+    // Identifies this service on calls to other services. The subject is not an email and the
+    // token carries no user claims, so it never authenticates as a user here.
+    public String generateServiceToken(String serviceName, long expirationMillis) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLES_CLAIM, List.of(SERVICE_ROLE));
+        return createToken(claims, SERVICE_SUBJECT_PREFIX + serviceName, expirationMillis);
+    }
+    
     private String createToken(Map<String, Object> claims, String subject) {
+        return createToken(claims, subject, jwtExpiration);
+    }
+    
+    private String createToken(Map<String, Object> claims, String subject, long expirationMillis) {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .setExpiration(new Date(System.currentTimeMillis() + expirationMillis))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
@@ -81,12 +130,14 @@ public class JwtUtil {
         return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
     }
     
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date());
+    }
+    
     public Boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            parseToken(token);
             return true;
         } catch (SecurityException | MalformedJwtException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
@@ -101,8 +152,11 @@ public class JwtUtil {
     }
     
     public Long extractUserId(String token) {
-        Claims claims = extractAllClaims(token);
-        Object userId = claims.get("userId");
+        return extractUserId(extractAllClaims(token));
+    }
+    
+    public Long extractUserId(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
         if (userId instanceof Integer) {
             return ((Integer) userId).longValue();
         } else if (userId instanceof Long) {
@@ -112,4 +166,35 @@ public class JwtUtil {
         }
         return null;
     }
+    
+    // Tokens minted before stateless mode existed lack these claims and must fall back to a lookup
+    public boolean hasPrincipalClaims(Claims claims) {
+        return claims.get(USER_ID_CLAIM) != null
+                && claims.get(STATUS_CLAIM) != null
+                && claims.get(ROLES_CLAIM) != null
+                && claims.getIssuedAt() != null;
+    }
+    
+    public User.UserStatus extractStatus(Claims claims) {
+        Object status = claims.get(STATUS_CLAIM);
+        if (status == null) {
+            return null;
+        }
+        try {
+            return User.UserStatus.valueOf(status.toString());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    public Collection<GrantedAuthority> extractAuthorities(Claims claims) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        Object roles = claims.get(ROLES_CLAIM);
+        if (roles instanceof Collection<?> roleNames) {
+            for (Object role : roleNames) {
+                authorities.add(new SimpleGrantedAuthority(role.toString()));
+            }
+        }
+        return authorities;
+    }
 }
@@ -0,0 +1,27 @@
+package com.linkedin.coreservice.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lets at most one log line through per interval and counts the ones it drops,
+// so floods of identical rejections don't turn into floods of synchronous log writes
+public class LogSampler {
+    
+    private final long intervalMillis;
+    private final AtomicLong nextAllowedMillis = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+    
+    public LogSampler(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+    
+    // Returns the number of events suppressed since the last logged one, or -1 if this one should be dropped
+    public long tryAcquire() {
+        long now = System.currentTimeMillis();
+        long next = nextAllowedMillis.get();
+        if (now >= next && nextAllowedMillis.compareAndSet(next, now + intervalMillis)) {
+            return suppressed.getAndSet(0);
+        }
+        suppressed.incrementAndGet();
+        return -1;
+    }
+}
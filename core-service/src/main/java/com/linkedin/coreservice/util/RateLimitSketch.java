@@ -0,0 +1,125 @@
+package com.linkedin.coreservice.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-memory rate limiter for an unbounded key space.
+//
+// Each key maps to one cell in each of `depth` rows, like a count-min sketch. A cell
+// holds a GCRA "theoretical arrival time", so one long encodes the whole token bucket
+// and can be updated with a single CAS. A key is limited by the least loaded of its
+// cells, so it is only throttled by collisions if every row collides with heavy keys.
+public class RateLimitSketch {
+    
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray cells;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final long key0;
+    private final long key1;
+    private final long originNanos;
+    
+    public RateLimitSketch(int depth, int width, int permitsPerMinute, int burst) {
+        if (depth < 1 || width < 1 || permitsPerMinute < 1 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit sketch parameters must be positive");
+        }
+        this.depth = depth;
+        int roundedWidth = Integer.highestOneBit(width - 1) << 1;
+        this.mask = Math.max(roundedWidth, 1) - 1;
+        this.cells = new AtomicLongArray(depth * (mask + 1));
+        this.emissionIntervalNanos = 60_000_000_000L / permitsPerMinute;
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        // Random SipHash key so clients cannot pre-compute keys that collide with a victim
+        this.key0 = ThreadLocalRandom.current().nextLong();
+        this.key1 = ThreadLocalRandom.current().nextLong();
+        this.originNanos = System.nanoTime();
+    }
+    
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime() - originNanos);
+    }
+    
+    boolean tryAcquire(String key, long now) {
+        long hash = sipHash(key.getBytes(StandardCharsets.UTF_8));
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        
+        long earliest = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            long tat = Math.max(cells.get(index(row, h1, h2)), now);
+            earliest = Math.min(earliest, tat);
+        }
+        
+        if (earliest - now > burstToleranceNanos) {
+            return false;
+        }
+        
+        // Conservative update: only raise cells that are behind the key's new arrival time
+        long newTat = earliest + emissionIntervalNanos;
+        for (int row = 0; row < depth; row++) {
+            int index = index(row, h1, h2);
+            long current = cells.get(index);
+            while (current < newTat && !cells.compareAndSet(index, current, newTat)) {
+                current = cells.get(index);
+            }
+        }
+        return true;
+    }
+    
+    private int index(int row, int h1, int h2) {
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+    
+    // SipHash-2-4 keyed with this sketch's random key. Hashing the whole key rather than
+    // String.hashCode() keeps keys with equal hash codes apart.
+    private long sipHash(byte[] data) {
+        long[] v = {
+                key0 ^ 0x736f6d6570736575L,
+                key1 ^ 0x646f72616e646f6dL,
+                key0 ^ 0x6c7967656e657261L,
+                key1 ^ 0x7465646279746573L
+        };
+        
+        int blocks = data.length & ~7;
+        for (int offset = 0; offset < blocks; offset += 8) {
+            compress(v, littleEndian(data, offset, 8));
+        }
+        compress(v, ((long) data.length << 56) | littleEndian(data, blocks, data.length - blocks));
+        
+        v[2] ^= 0xff;
+        for (int round = 0; round < 4; round++) {
+            sipRound(v);
+        }
+        return v[0] ^ v[1] ^ v[2] ^ v[3];
+    }
+    
+    private static void compress(long[] v, long m) {
+        v[3] ^= m;
+        sipRound(v);
+        sipRound(v);
+        v[0] ^= m;
+    }
+    
+    private static void sipRound(long[] v) {
+        v[0] += v[1];
+        v[1] = Long.rotateLeft(v[1], 13) ^ v[0];
+        v[0] = Long.rotateLeft(v[0], 32);
+        v[2] += v[3];
+        v[3] = Long.rotateLeft(v[3], 16) ^ v[2];
+        v[0] += v[3];
+        v[3] = Long.rotateLeft(v[3], 21) ^ v[0];
+        v[2] += v[1];
+        v[1] = Long.rotateLeft(v[1], 17) ^ v[2];
+        v[2] = Long.rotateLeft(v[2], 32);
+    }
+    
+    private static long littleEndian(byte[] data, int offset, int length) {
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            value |= (data[offset + i] & 0xffL) << (8 * i);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,30 @@
+package com.linkedin.coreservice.util;
+
+import com.linkedin.coreservice.entity.User;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class UserMapper {
+    
+    private UserMapper() {
+    }
+    
+    // Removes sensitive data from the user object
+    public static Map<String, Object> toSanitizedMap(User user) {
+        Map<String, Object> sanitizedUser = new HashMap<>();
+        sanitizedUser.put("id", user.getId());
+        sanitizedUser.put("email", user.getEmail());
+        sanitizedUser.put("firstName", user.getFirstName());
+        sanitizedUser.put("lastName", user.getLastName());
+        sanitizedUser.put("headline", user.getHeadline());
+        sanitizedUser.put("summary", user.getSummary());
+        sanitizedUser.put("profileImageUrl", user.getProfileImageUrl());
+        sanitizedUser.put("location", user.getLocation());
+        sanitizedUser.put("industry", user.getIndustry());
+        sanitizedUser.put("status", user.getStatus());
+        sanitizedUser.put("createdAt", user.getCreatedAt());
+        // Note: password is intentionally excluded
+        return sanitizedUser;
+    }
+}
@@ -0,0 +1,42 @@
+-- Baseline schema as previously generated by Hibernate from the User and Post entities.
+-- Databases that already have these tables are baselined at this version and skip it.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    headline VARCHAR(255),
+    summary TEXT,
+    profile_image_url VARCHAR(255),
+    location VARCHAR(255),
+    industry VARCHAR(255),
+    date_of_birth DATE,
+    status ENUM('ACTIVE', 'INACTIVE', 'SUSPENDED') NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS posts (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    content TEXT NOT NULL,
+    likes_count INTEGER NOT NULL,
+    comments_count INTEGER NOT NULL,
+    shares_count INTEGER NOT NULL,
+    visibility ENUM('PUBLIC', 'CONNECTIONS', 'PRIVATE') NOT NULL,
+    status ENUM('ACTIVE', 'DELETED', 'DRAFT') NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_posts_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS post_media_urls (
+    post_id BIGINT NOT NULL,
+    media_url VARCHAR(255),
+    CONSTRAINT fk_post_media_urls_post FOREIGN KEY (post_id) REFERENCES posts (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,25 @@
+-- Composite indexes matching the UserRepository and PostRepository query shapes, so that
+-- filtered listings are range scans read in created_at order instead of filesorts.
+-- InnoDB appends the primary key to every secondary index, which also covers the
+-- (created_at, id) tie-break used by keyset pagination.
+
+-- Active-user listing, keyset pages and countByStatus
+CREATE INDEX idx_users_status_created_at ON users (status, created_at);
+
+-- Listing filtered by industry
+CREATE INDEX idx_users_status_industry_created_at ON users (status, industry, created_at);
+
+-- Change catch-up for the search, typeahead and token revocation services
+CREATE INDEX idx_users_updated_at ON users (updated_at);
+
+-- Email filter catch-up
+CREATE INDEX idx_users_created_at ON users (created_at);
+
+-- Global post listing
+CREATE INDEX idx_posts_status_created_at ON posts (status, created_at);
+
+-- Posts by visibility
+CREATE INDEX idx_posts_status_visibility_created_at ON posts (status, visibility, created_at);
+
+-- Posts by author
+CREATE INDEX idx_posts_user_status_created_at ON posts (user_id, status, created_at);
@@ -0,0 +1,2 @@
+-- Change catch-up for the post search index
+CREATE INDEX idx_posts_updated_at ON posts (updated_at);
@@ -0,0 +1,13 @@
+-- One row per user and liked post. posts.likes_count only moves when a row is inserted or
+-- deleted here, so liking twice or unliking a post never liked leaves the count alone.
+CREATE TABLE IF NOT EXISTS post_likes (
+    user_id BIGINT NOT NULL,
+    post_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id, post_id),
+    CONSTRAINT fk_post_likes_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_post_likes_post FOREIGN KEY (post_id) REFERENCES posts (id)
+) ENGINE = InnoDB;
+
+-- Likes of a post
+CREATE INDEX idx_post_likes_post ON post_likes (post_id);
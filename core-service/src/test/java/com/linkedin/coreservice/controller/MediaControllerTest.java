@@ -0,0 +1,151 @@
+package com.linkedin.coreservice.controller;
+
+import com.linkedin.coreservice.security.ErrorResponseWriter;
+import com.linkedin.coreservice.service.MediaStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MediaControllerTest {
+    
+    private static final String CONTENT = "0123456789";
+    
+    @TempDir
+    Path uploadDir;
+    
+    private MediaStorageService mediaStorageService;
+    private MediaController mediaController;
+    private MediaStorageService.StoredMedia media;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        mediaStorageService = new MediaStorageService(uploadDir.toString());
+        mediaController = new MediaController(mediaStorageService, new ErrorResponseWriter());
+        media = mediaStorageService.store(new MockMultipartFile("file", "digits.png", "image/png",
+                CONTENT.getBytes(StandardCharsets.US_ASCII)));
+    }
+    
+    @Test
+    void servesWholeFileWithoutRange() throws Exception {
+        MockHttpServletResponse response = get(request());
+        
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+    
+    @Test
+    void servesClosedRange() throws Exception {
+        assertPartial("bytes=2-5", "2345", "bytes 2-5/10");
+    }
+    
+    @Test
+    void servesOpenEndedAndSuffixRanges() throws Exception {
+        assertPartial("bytes=7-", "789", "bytes 7-9/10");
+        assertPartial("bytes=-3", "789", "bytes 7-9/10");
+    }
+    
+    @Test
+    void clampsRangeEndToFileSize() throws Exception {
+        assertPartial("bytes=5-100", "56789", "bytes 5-9/10");
+    }
+    
+    @Test
+    void rejectsRangeStartingPastTheEnd() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-");
+        MockHttpServletResponse response = get(request);
+        
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+    
+    @Test
+    void ignoresMalformedAndMultipleRanges() throws Exception {
+        assertWholeFile("items=0-1", null);
+        assertWholeFile("bytes=5-2", null);
+        assertWholeFile("bytes=0-1,4-5", null);
+    }
+    
+    @Test
+    void honorsRangeOnlyForMatchingIfRange() throws Exception {
+        assertWholeFile("bytes=2-5", "\"another-version\"");
+        
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, media.getEtag());
+        assertEquals(206, get(request).getStatus());
+    }
+    
+    @Test
+    void headRequestSendsRangeHeadersOnly() throws Exception {
+        MockHttpServletRequest request = request();
+        request.setMethod("HEAD");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = get(request);
+        
+        assertEquals(206, response.getStatus());
+        assertEquals(4, response.getContentLengthLong());
+        assertEquals("", response.getContentAsString());
+    }
+    
+    @Test
+    void handsRangeToSendfileWhenSupported() throws Exception {
+        MockHttpServletRequest request = request();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = get(request);
+        
+        assertEquals(206, response.getStatus());
+        assertEquals(mediaStorageService.pathFor(media).toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(2L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        // The sendfile end is exclusive
+        assertEquals(6L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals("", response.getContentAsString());
+    }
+    
+    private void assertPartial(String range, String expectedBody, String expectedContentRange) throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, range);
+        MockHttpServletResponse response = get(request);
+        
+        assertEquals(206, response.getStatus(), range);
+        assertEquals(expectedContentRange, response.getHeader(HttpHeaders.CONTENT_RANGE), range);
+        assertEquals(expectedBody.length(), response.getContentLengthLong(), range);
+        assertEquals(expectedBody, response.getContentAsString(), range);
+    }
+    
+    private void assertWholeFile(String range, String ifRange) throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, range);
+        if (ifRange != null) {
+            request.addHeader(HttpHeaders.IF_RANGE, ifRange);
+        }
+        MockHttpServletResponse response = get(request);
+        
+        assertEquals(200, response.getStatus(), range);
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE), range);
+        assertEquals(CONTENT, response.getContentAsString(), range);
+    }
+    
+    private MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/media/" + media.getName());
+    }
+    
+    private MockHttpServletResponse get(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        mediaController.getMedia(media.getName(), request, response);
+        return response;
+    }
+}
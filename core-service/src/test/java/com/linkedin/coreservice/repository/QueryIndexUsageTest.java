@@ -0,0 +1,181 @@
+package com.linkedin.coreservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Runs EXPLAIN on the SQL that UserRepository and PostRepository queries produce, against a
+// MySQL schema migrated by Flyway and filled with enough rows for the optimizer's choices to
+// mean something. Each statement mirrors a repository query with its parameters inlined, as
+// Connector/J sends them with client-side prepared statements.
+//
+// Needs a throwaway schema, which is dropped and recreated:
+// EXPLAIN_DB_URL=jdbc:mysql://localhost:3306/explain_test EXPLAIN_DB_USER=root EXPLAIN_DB_PASSWORD=... ./gradlew test
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DB_URL", matches = "jdbc:mysql:.+")
+class QueryIndexUsageTest {
+    
+    private static final int USERS = 20_000;
+    private static final int POSTS = 100_000;
+    
+    private static final String USER_CARD_COLUMNS = "SELECT u.id, u.email, u.first_name, u.last_name, u.headline, " +
+            "u.profile_image_url, u.location, u.industry, u.status, u.created_at FROM users u ";
+    private static final String NO_FILTERS = "(NULL IS NULL OR u.industry = NULL) AND " +
+            "(NULL IS NULL OR LOWER(u.location) LIKE LOWER(CONCAT('%', NULL, '%'))) AND " +
+            "(NULL IS NULL OR LOWER(u.first_name) LIKE LOWER(CONCAT('%', NULL, '%')) OR " +
+            "LOWER(u.last_name) LIKE LOWER(CONCAT('%', NULL, '%')) OR " +
+            "LOWER(u.headline) LIKE LOWER(CONCAT('%', NULL, '%')))";
+    private static final String INDUSTRY_FILTER = NO_FILTERS.replace(
+            "(NULL IS NULL OR u.industry = NULL)", "('Software' IS NULL OR u.industry = 'Software')");
+    private static final String AFTER_CURSOR = "(NOW(6) - INTERVAL 1 DAY IS NULL OR u.created_at < NOW(6) - INTERVAL 1 DAY OR " +
+            "(u.created_at = NOW(6) - INTERVAL 1 DAY AND u.id < 19000)) ORDER BY u.created_at DESC, u.id DESC LIMIT 21";
+    
+    private static JdbcTemplate jdbcTemplate;
+    
+    @BeforeAll
+    static void migrateAndSeed() {
+        String url = System.getenv("EXPLAIN_DB_URL");
+        String user = System.getenv("EXPLAIN_DB_USER");
+        String password = System.getenv("EXPLAIN_DB_PASSWORD");
+        
+        Flyway flyway = Flyway.configure()
+                .dataSource(url, user, password)
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+        
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, user, password));
+        jdbcTemplate.execute("SET SESSION cte_max_recursion_depth = " + POSTS);
+        jdbcTemplate.update("INSERT INTO users (email, password, first_name, last_name, headline, location, industry, " +
+                "status, created_at, updated_at) " +
+                "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < " + USERS + ") " +
+                "SELECT CONCAT('user', n, '@example.com'), 'x', CONCAT('First', n), CONCAT('Last', n), 'Engineer', " +
+                "ELT(1 + n % 5, 'Berlin', 'London', 'Lisbon', 'Madrid', 'Paris'), " +
+                "ELT(1 + n % 20, 'Software', 'Retail', 'Finance', 'Health', 'Media', 'Energy', 'Legal', 'Travel', " +
+                "'Food', 'Gaming', 'Telecom', 'Mining', 'Biotech', 'Aviation', 'Logistics', 'Insurance', " +
+                "'Education', 'Fashion', 'Sports', 'Music'), " +
+                "IF(n % 10 = 0, 'INACTIVE', 'ACTIVE'), " +
+                "NOW(6) - INTERVAL n MINUTE, NOW(6) - INTERVAL n MINUTE FROM seq");
+        jdbcTemplate.update("INSERT INTO posts (user_id, content, likes_count, comments_count, shares_count, " +
+                "visibility, status, created_at, updated_at) " +
+                "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < " + POSTS + ") " +
+                "SELECT 1 + n % " + USERS + ", CONCAT('Post ', n), 0, 0, 0, " +
+                "ELT(1 + n % 3, 'PUBLIC', 'CONNECTIONS', 'PRIVATE'), IF(n % 20 = 0, 'DELETED', 'ACTIVE'), " +
+                "NOW(6) - INTERVAL n MINUTE, NOW(6) - INTERVAL n MINUTE FROM seq");
+        jdbcTemplate.execute("ANALYZE TABLE users, posts, post_media_urls, post_likes");
+    }
+    
+    @Test
+    void userListingsReadIndexOrder() {
+        // findCardsByStatus and findByStatus, sorted by createdAt then id
+        assertIndexOrdered(USER_CARD_COLUMNS + "WHERE u.status = 'ACTIVE' ORDER BY u.created_at DESC, u.id DESC LIMIT 20");
+        assertIndexOrdered(USER_CARD_COLUMNS + "WHERE u.status = 'ACTIVE' ORDER BY u.created_at ASC, u.id ASC LIMIT 20");
+        // findCardsByStatusAndFilters with an industry
+        assertIndexOrdered(USER_CARD_COLUMNS + "WHERE u.status = 'ACTIVE' AND " + INDUSTRY_FILTER +
+                " ORDER BY u.created_at DESC, u.id DESC LIMIT 20");
+    }
+    
+    @Test
+    void userKeysetPagesReadIndexOrder() {
+        // findCardsByStatusAfterCursor and findCardsByStatusAndFiltersAfterCursor
+        assertIndexOrdered(USER_CARD_COLUMNS + "WHERE u.status = 'ACTIVE' AND " + AFTER_CURSOR);
+        assertIndexOrdered(USER_CARD_COLUMNS + "WHERE u.status = 'ACTIVE' AND " + NO_FILTERS + " AND " + AFTER_CURSOR);
+        assertIndexOrdered(USER_CARD_COLUMNS + "WHERE u.status = 'ACTIVE' AND " + INDUSTRY_FILTER + " AND " + AFTER_CURSOR);
+    }
+    
+    @Test
+    void userLookupsAndAggregatesUseIndexes() {
+        // findByEmail, existsByEmail
+        assertIndexed("SELECT u.id FROM users u WHERE u.email = 'user42@example.com'");
+        // countByStatus
+        assertIndexed("SELECT COUNT(u.id) FROM users u WHERE u.status = 'ACTIVE'");
+        // countByStatusGroupByIndustry
+        assertIndexOrdered("SELECT u.industry, COUNT(u.id) FROM users u " +
+                "WHERE u.status = 'ACTIVE' AND u.industry IS NOT NULL GROUP BY u.industry");
+        // findCardsByIdIn
+        assertIndexed(USER_CARD_COLUMNS + "WHERE u.id IN (3, 141, 5926, 17000)");
+        // findCardsByIdInAndStatusAfterCursor; sorting at most one search window of rows is expected
+        assertIndexed(USER_CARD_COLUMNS + "WHERE u.id IN (3, 141, 5926, 17000) AND u.status = 'ACTIVE' AND " + AFTER_CURSOR);
+        // streamCardsAfterId
+        assertIndexOrdered(USER_CARD_COLUMNS + "WHERE u.id > 5000 ORDER BY u.id");
+    }
+    
+    @Test
+    void userCatchUpQueriesUseIndexes() {
+        // findIdsByStatusNotAndUpdatedAtAfter
+        assertIndexed("SELECT u.id FROM users u WHERE u.status <> 'ACTIVE' AND u.updated_at > NOW(6) - INTERVAL 2 HOUR");
+        // findEmailsCreatedAfter
+        assertIndexed("SELECT u.email FROM users u WHERE u.created_at > NOW(6) - INTERVAL 2 HOUR");
+        // findSearchDocumentsUpdatedAfter
+        assertIndexed("SELECT u.id, u.first_name, u.last_name, u.headline, u.industry, u.location, u.status " +
+                "FROM users u WHERE u.updated_at > NOW(6) - INTERVAL 2 HOUR");
+    }
+    
+    @Test
+    void postListingsReadIndexOrder() {
+        // findByStatusOrderByCreatedAtDesc
+        assertIndexOrdered("SELECT p.* FROM posts p WHERE p.status = 'ACTIVE' ORDER BY p.created_at DESC LIMIT 20");
+        // findByStatusAndVisibilityOrderByCreatedAtDesc
+        assertIndexOrdered("SELECT p.* FROM posts p WHERE p.status = 'ACTIVE' AND p.visibility = 'PUBLIC' " +
+                "ORDER BY p.created_at DESC LIMIT 20");
+        // findByUserIdAndStatusOrderByCreatedAtDesc and findByUserAndStatusOrderByCreatedAtDesc
+        assertIndexOrdered("SELECT p.* FROM posts p WHERE p.user_id = 42 AND p.status = 'ACTIVE' " +
+                "ORDER BY p.created_at DESC LIMIT 20");
+    }
+    
+    @Test
+    void postLookupsAndCatchUpUseIndexes() {
+        // findIdsByAuthorsBefore
+        assertIndexed("SELECT p.id FROM posts p WHERE p.user_id IN (7, 42, 99, 1234, 18000) AND p.status = 'ACTIVE' " +
+                "AND p.visibility <> 'PRIVATE' AND p.id < 90000 ORDER BY p.id DESC LIMIT 50");
+        // findIdsByAuthorsCreatedAfter
+        assertIndexed("SELECT p.id FROM posts p WHERE p.user_id IN (7, 42, 99, 1234, 18000) AND p.status = 'ACTIVE' " +
+                "AND p.visibility <> 'PRIVATE' AND p.created_at > NOW(6) - INTERVAL 1 MINUTE ORDER BY p.id DESC LIMIT 800");
+        // findVisibleWithMediaByIdIn
+        assertIndexed("SELECT DISTINCT p.*, m.media_url FROM posts p LEFT JOIN post_media_urls m ON m.post_id = p.id " +
+                "WHERE p.id IN (11, 12, 13) AND p.status = 'ACTIVE' AND (p.user_id = 42 OR p.visibility = 'PUBLIC' OR " +
+                "(p.visibility = 'CONNECTIONS' AND p.user_id IN (7, 99)))");
+        // findByIdAndStatus
+        assertIndexed("SELECT p.* FROM posts p WHERE p.id = 500 AND p.status = 'ACTIVE'");
+        // countByUserAndStatus
+        assertIndexed("SELECT COUNT(p.id) FROM posts p WHERE p.user_id = 42 AND p.status = 'ACTIVE'");
+        // findSearchDocumentsUpdatedAfter
+        assertIndexed("SELECT p.id, p.user_id, p.content, p.visibility, p.status, p.created_at, p.updated_at " +
+                "FROM posts p WHERE p.updated_at > NOW(6) - INTERVAL 2 HOUR");
+    }
+    
+    private static void assertIndexOrdered(String sql) {
+        for (Map<String, Object> row : explain(sql)) {
+            Object extra = row.get("Extra");
+            assertFalse(extra != null && extra.toString().contains("filesort"), "filesort in " + row + " for " + sql);
+            assertFalse(extra != null && extra.toString().contains("temporary"), "temporary table in " + row + " for " + sql);
+        }
+    }
+    
+    private static void assertIndexed(String sql) {
+        explain(sql);
+    }
+    
+    // Every table access goes through an index
+    private static List<Map<String, Object>> explain(String sql) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("EXPLAIN " + sql);
+        for (Map<String, Object> row : rows) {
+            Object table = row.get("table");
+            if (table == null || table.toString().startsWith("<")) {
+                continue;
+            }
+            assertNotNull(row.get("key"), "full scan of " + table + " in " + row + " for " + sql);
+            assertFalse("ALL".equals(row.get("type")), "full scan of " + table + " in " + row + " for " + sql);
+        }
+        return rows;
+    }
+}
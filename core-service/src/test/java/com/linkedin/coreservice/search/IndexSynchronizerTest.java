@@ -0,0 +1,109 @@
+package com.linkedin.coreservice.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexSynchronizerTest {
+    
+    // Rows as (id, value); the index maps id to value
+    private final List<long[]> table = new ArrayList<>();
+    private final List<long[]> changed = new ArrayList<>();
+    private final List<LocalDateTime> catchUpQueries = new ArrayList<>();
+    private Runnable duringSnapshot = () -> { };
+    private boolean failSnapshot;
+    
+    private IndexSynchronizer<Map<Long, Long>, long[]> sync;
+    
+    @BeforeEach
+    void setUp() {
+        sync = new IndexSynchronizer<>("test index",
+                () -> {
+                    if (failSnapshot) {
+                        throw new IllegalStateException("connection lost");
+                    }
+                    return new ArrayList<>(table).stream().peek(row -> duringSnapshot.run());
+                },
+                IndexSynchronizerTest::load,
+                since -> {
+                    catchUpQueries.add(since);
+                    return new ArrayList<>(changed);
+                },
+                (index, row) -> index.put(row[0], row[1]));
+    }
+    
+    @Test
+    void isEmptyUntilFirstRebuild() {
+        sync.apply(new long[]{1, 10});
+        sync.catchUp();
+        
+        assertNull(sync.current());
+        assertTrue(catchUpQueries.isEmpty());
+    }
+    
+    @Test
+    void rebuildLoadsSnapshotThenCatchesUp() {
+        table.add(new long[]{1, 10});
+        table.add(new long[]{2, 20});
+        changed.add(new long[]{2, 21});
+        
+        assertTrue(sync.rebuild());
+        
+        assertEquals(Map.of(1L, 10L, 2L, 21L), sync.current());
+        assertEquals(1, catchUpQueries.size());
+    }
+    
+    @Test
+    void changesDuringSnapshotAreReplayedOntoNewIndex() {
+        table.add(new long[]{1, 10});
+        table.add(new long[]{2, 20});
+        duringSnapshot = () -> sync.apply(new long[]{2, 22});
+        
+        sync.rebuild();
+        
+        assertEquals(22L, sync.current().get(2L));
+    }
+    
+    @Test
+    void failedRebuildKeepsPreviousIndex() {
+        table.add(new long[]{1, 10});
+        sync.rebuild();
+        Map<Long, Long> previous = sync.current();
+        
+        failSnapshot = true;
+        assertFalse(sync.rebuild());
+        
+        assertSame(previous, sync.current());
+        sync.apply(new long[]{3, 30});
+        assertEquals(30L, sync.current().get(3L));
+    }
+    
+    @Test
+    void catchUpOverlapsThePreviousSync() {
+        sync.rebuild();
+        LocalDateTime before = LocalDateTime.now();
+        
+        sync.catchUp();
+        
+        LocalDateTime since = catchUpQueries.get(catchUpQueries.size() - 1);
+        assertTrue(since.isBefore(before.minusSeconds(59)), "catch-up started at " + since);
+    }
+    
+    private static Map<Long, Long> load(Stream<long[]> rows) {
+        Map<Long, Long> index = new TreeMap<>();
+        rows.forEach(row -> index.put(row[0], row[1]));
+        return index;
+    }
+}
@@ -0,0 +1,128 @@
+package com.linkedin.coreservice.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+    
+    private InvertedIndex<String> index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex<>();
+        index.put(1, TextAnalyzer.tokenize("Jane Smith", "Software engineer"), "Software");
+        index.put(2, TextAnalyzer.tokenize("John Smith", "Data engineer"), "Software");
+        index.put(3, TextAnalyzer.tokenize("John Smithers", "Sales director"), "Retail");
+        index.put(4, TextAnalyzer.tokenize("Smith Smith", "Engineer"), "Retail");
+    }
+    
+    @Test
+    void everyQueryTermMustMatch() {
+        assertEquals(List.of(2L), docIds(index.search(TextAnalyzer.tokenize("john smith"), false, null, 10)));
+        assertEquals(List.of(), docIds(index.search(TextAnalyzer.tokenize("jane director"), false, null, 10)));
+        assertEquals(List.of(), docIds(index.search(TextAnalyzer.tokenize("nobody"), false, null, 10)));
+    }
+    
+    @Test
+    void ranksHigherTermFrequencyFirst() {
+        SearchResult result = index.search(List.of("smith"), false, null, 10);
+        
+        assertEquals(3, result.getTotalMatches());
+        assertEquals(4L, result.getHits().get(0).getDocId());
+    }
+    
+    @Test
+    void lastTermMatchesAsPrefixWithExactMatchesFirst() {
+        SearchResult result = index.search(List.of("john", "smith"), true, null, 10);
+        
+        assertEquals(List.of(2L, 3L), docIds(result));
+        assertTrue(result.getHits().get(0).getScore() > result.getHits().get(1).getScore());
+    }
+    
+    @Test
+    void prefixExpandsToTheMostFrequentCompletions() {
+        // Far more rare completions of "sm" than the expansion limit, all sorting before "smith"
+        for (int i = 0; i < 200; i++) {
+            index.put(1000 + i, List.of(String.format("sma%03d", i)), "Other");
+        }
+        
+        List<Long> hits = docIds(index.search(List.of("sm"), true, null, 1000));
+        
+        assertTrue(hits.containsAll(List.of(1L, 2L, 4L)), "smith was dropped from the expansions: " + hits);
+    }
+    
+    @Test
+    void filterRestrictsHitsAndTotal() {
+        SearchResult result = index.search(List.of("engineer"), false, "Retail"::equals, 10);
+        
+        assertEquals(List.of(4L), docIds(result));
+        assertEquals(1, result.getTotalMatches());
+    }
+    
+    @Test
+    void boostReordersHits() {
+        SearchResult result = index.search(List.of("smith"), false, null,
+                industry -> industry.equals("Software") ? 10.0 : 1.0, null, 10);
+        
+        assertTrue(List.of(1L, 2L).contains(result.getHits().get(0).getDocId()));
+    }
+    
+    @Test
+    void putReplacesPreviousVersionAndRemoveDeletes() {
+        index.put(1, TextAnalyzer.tokenize("Jane Doe", "Product manager"), "Software");
+        
+        assertEquals(List.of(2L, 4L), sorted(docIds(index.search(List.of("smith"), false, null, 10))));
+        assertEquals(List.of(1L), docIds(index.search(List.of("doe"), false, null, 10)));
+        
+        index.remove(1);
+        
+        assertEquals(List.of(), docIds(index.search(List.of("doe"), false, null, 10)));
+        assertEquals(3, index.size());
+    }
+    
+    @Test
+    void pagesWithAfterCursorCoverEveryMatchOnce() {
+        for (int i = 0; i < 500; i++) {
+            index.put(100 + i, TextAnalyzer.tokenize("engineer", i % 3 == 0 ? "engineer lead" : "team member " + i),
+                    "Software");
+        }
+        SearchResult all = index.search(List.of("engineer"), false, null, 1000);
+        
+        List<Long> paged = new ArrayList<>();
+        SearchHit after = null;
+        while (true) {
+            SearchResult page = index.search(List.of("engineer"), false, null, null, after, 37);
+            assertEquals(all.getTotalMatches(), page.getTotalMatches());
+            if (page.getHits().isEmpty()) {
+                break;
+            }
+            paged.addAll(docIds(page));
+            after = page.getHits().get(page.getHits().size() - 1);
+        }
+        
+        assertEquals(docIds(all), paged);
+    }
+    
+    @Test
+    void emptyQueryOrLimitReturnsNothing() {
+        assertEquals(0, index.search(List.of(), false, null, 10).getTotalMatches());
+        assertEquals(List.of(), docIds(index.search(List.of("smith"), false, null, 0)));
+    }
+    
+    private static List<Long> docIds(SearchResult result) {
+        return result.getHits().stream()
+                .map(SearchHit::getDocId)
+                .collect(Collectors.toList());
+    }
+    
+    private static List<Long> sorted(List<Long> ids) {
+        return ids.stream().sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,88 @@
+package com.linkedin.coreservice.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrefixIndexTest {
+    
+    private PrefixIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = PrefixIndex.builder()
+                .add(1, "Jane Smith", keys("Jane", "Smith"))
+                .add(2, "John Smith", keys("John", "Smith"))
+                .add(3, "Anna Annabel", keys("Anna", "Annabel"))
+                .add(4, "Johanna Berg", keys("Johanna", "Berg"))
+                .build();
+    }
+    
+    @Test
+    void completesEitherNameOrderInKeyOrder() {
+        assertEquals(List.of(1L, 4L, 2L), ids(index.complete("j", 10)));
+        assertEquals(List.of(1L, 2L), ids(index.complete("smith", 10)));
+        assertEquals(List.of(2L), ids(index.complete("smith jo", 10)));
+    }
+    
+    @Test
+    void returnsEachUserOnceAndHonoursLimit() {
+        // Both "anna annabel" and "annabel anna" start with "anna"
+        assertEquals(List.of(3L), ids(index.complete("anna", 10)));
+        assertEquals(List.of(1L, 4L), ids(index.complete("j", 2)));
+    }
+    
+    @Test
+    void emptyPrefixOrLimitMatchesNothing() {
+        assertEquals(List.of(), ids(index.complete("", 10)));
+        assertEquals(List.of(), ids(index.complete("j", 0)));
+    }
+    
+    @Test
+    void changesAfterBuildShadowTheSnapshot() {
+        index.put(2, "Jon Smith", keys("Jon", "Smith"));
+        index.put(5, "Jake Miller", keys("Jake", "Miller"));
+        
+        List<PrefixIndex.Match> matches = index.complete("j", 10);
+        
+        assertEquals(List.of(5L, 1L, 4L, 2L), ids(matches));
+        assertEquals("Jon Smith", matches.get(3).getLabel());
+        assertEquals(List.of(), ids(index.complete("john", 10)));
+    }
+    
+    @Test
+    void removeHidesSnapshotAndDeltaEntries() {
+        index.put(5, "Jake Miller", keys("Jake", "Miller"));
+        index.remove(1);
+        index.remove(5);
+        
+        assertEquals(List.of(4L, 2L), ids(index.complete("j", 10)));
+    }
+    
+    @Test
+    void usersWithEqualNamesAreKeptApart() {
+        index.put(6, "Jane Smith", keys("Jane", "Smith"));
+        index.put(7, "Jane Smith", keys("Jane", "Smith"));
+        
+        assertEquals(List.of(1L, 6L, 7L), ids(index.complete("jane", 10)));
+    }
+    
+    @Test
+    void normalizesAccentsCaseAndPunctuation() {
+        assertEquals("jose o neil", PrefixIndex.normalize("  Jos\u00e9 ", "O'Neil"));
+    }
+    
+    private static List<String> keys(String first, String last) {
+        return List.of(PrefixIndex.normalize(first, last), PrefixIndex.normalize(last, first));
+    }
+    
+    private static List<Long> ids(List<PrefixIndex.Match> matches) {
+        return matches.stream()
+                .map(PrefixIndex.Match::getId)
+                .collect(Collectors.toList());
+    }
+}
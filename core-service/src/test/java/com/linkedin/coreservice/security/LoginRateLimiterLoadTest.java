@@ -0,0 +1,178 @@
+package com.linkedin.coreservice.security;
+
+import com.linkedin.coreservice.exception.TooManyRequestsException;
+import com.linkedin.coreservice.service.PasswordHashingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Replays the part of AuthController.login an attacker can make expensive: the limiter check
+// followed by a BCrypt verification on the shared hashing pool. Legitimate users log in from
+// their own addresses while attackers try random emails from a handful of addresses, and the
+// legitimate p99 is compared with a run without the attack.
+//
+// Excluded from the regular test task; run with ./gradlew loadTest
+@Tag("load")
+class LoginRateLimiterLoadTest {
+    
+    private static final String PASSWORD = "correct horse battery staple";
+    private static final int HASH_THREADS = 2;
+    private static final int ATTACKER_THREADS = 16;
+    private static final int ATTACKER_ADDRESSES = 8;
+    private static final int IP_PERMITS_PER_MINUTE = 30;
+    private static final int IP_BURST = 10;
+    private static final int LEGITIMATE_LOGINS = 200;
+    
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(10);
+    private final String storedHash = encoder.encode(PASSWORD);
+    
+    private LoginRateLimiter limiter;
+    private PasswordHashingService hashing;
+    
+    @BeforeEach
+    void setUp() {
+        limiter = new LoginRateLimiter(true, 4, 16384, IP_PERMITS_PER_MINUTE, IP_BURST, 10, 5);
+        hashing = new PasswordHashingService(encoder, HASH_THREADS, 64);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        hashing.shutdown();
+    }
+    
+    @Test
+    void legitimateLoginP99StaysFlatDuringAttack() throws InterruptedException {
+        long hashNanos = legitimateLogins(0).median;
+        Latencies baseline = legitimateLogins(1);
+        
+        AtomicBoolean attacking = new AtomicBoolean(true);
+        AtomicLong attempts = new AtomicLong();
+        AtomicLong admitted = new AtomicLong();
+        List<Thread> attackers = new ArrayList<>();
+        // Addresses start spread over one emission interval, as independent clients would; in
+        // lockstep their permits would all refill at the same instant
+        long emissionIntervalMillis = 60_000 / IP_PERMITS_PER_MINUTE;
+        for (int i = 0; i < ATTACKER_THREADS; i++) {
+            String address = "203.0.113." + i % ATTACKER_ADDRESSES;
+            long startDelay = emissionIntervalMillis * (i % ATTACKER_ADDRESSES) / ATTACKER_ADDRESSES;
+            Thread attacker = new Thread(() -> {
+                pause(startDelay);
+                attack(address, attacking, attempts, admitted);
+            }, "attacker-" + i);
+            attacker.setDaemon(true);
+            attackers.add(attacker);
+            attacker.start();
+        }
+        
+        // Measure the steady state: every attacking address gets its burst through at once, and the
+        // hashes it admitted have to drain before the limiter alone decides what the pool sees
+        long burstBacklogNanos = (long) ATTACKER_ADDRESSES * IP_BURST * hashNanos / HASH_THREADS;
+        TimeUnit.NANOSECONDS.sleep(2 * burstBacklogNanos + TimeUnit.SECONDS.toNanos(1));
+        long attemptsBefore = attempts.get();
+        long admittedBefore = admitted.get();
+        Latencies underAttack = legitimateLogins(2);
+        long steadyAttempts = attempts.get() - attemptsBefore;
+        long steadyAdmitted = admitted.get() - admittedBefore;
+        
+        attacking.set(false);
+        for (Thread attacker : attackers) {
+            attacker.join();
+        }
+        
+        System.out.printf("BCrypt ~%d ms; baseline p50=%d ms p99=%d ms; under attack p50=%d ms p99=%d ms; "
+                        + "attack attempts=%d admitted=%d%n",
+                millis(hashNanos), millis(baseline.median), millis(baseline.p99),
+                millis(underAttack.median), millis(underAttack.p99), steadyAttempts, steadyAdmitted);
+        
+        assertEquals(0, underAttack.rejected, "legitimate logins were rejected");
+        // Each admitted attack attempt costs one hash, so a legitimate login waits behind at most a
+        // couple of them
+        assertTrue(underAttack.p99 <= baseline.p99 + 2 * hashNanos,
+                "legitimate p99 rose from " + millis(baseline.p99) + " ms to " + millis(underAttack.p99) + " ms");
+        assertTrue(steadyAdmitted * 100 < steadyAttempts, "attack was not shed");
+    }
+    
+    private void attack(String address, AtomicBoolean attacking, AtomicLong attempts, AtomicLong admitted) {
+        while (attacking.get()) {
+            String email = "victim" + ThreadLocalRandom.current().nextInt(1_000_000) + "@example.com";
+            attempts.incrementAndGet();
+            if (limiter.tryAcquire(address, email)) {
+                admitted.incrementAndGet();
+                try {
+                    hashing.matches("password123", storedHash);
+                } catch (TooManyRequestsException e) {
+                    // Shed by the hashing pool instead
+                }
+            }
+            pause(1);
+        }
+    }
+    
+    // Every login comes from its own address and account, as distinct users would
+    private Latencies legitimateLogins(int run) {
+        List<Long> latencies = new ArrayList<>(LEGITIMATE_LOGINS);
+        int rejected = 0;
+        for (int i = 0; i < LEGITIMATE_LOGINS; i++) {
+            String address = "10." + run + "." + (i / 250) + "." + (i % 250);
+            String email = "user" + run + "-" + i + "@example.com";
+            long start = System.nanoTime();
+            if (!login(address, email)) {
+                rejected++;
+            }
+            latencies.add(System.nanoTime() - start);
+            pause(5);
+        }
+        Collections.sort(latencies);
+        return new Latencies(latencies.get(latencies.size() / 2),
+                latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1), rejected);
+    }
+    
+    private boolean login(String address, String email) {
+        if (!limiter.tryAcquire(address, email)) {
+            return false;
+        }
+        try {
+            return hashing.matches(PASSWORD, storedHash);
+        } catch (TooManyRequestsException e) {
+            return false;
+        }
+    }
+    
+    private static void pause(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+    
+    private static final class Latencies {
+        
+        private final long median;
+        private final long p99;
+        private final int rejected;
+        
+        private Latencies(long median, long p99, int rejected) {
+            this.median = median;
+            this.p99 = p99;
+            this.rejected = rejected;
+        }
+    }
+}
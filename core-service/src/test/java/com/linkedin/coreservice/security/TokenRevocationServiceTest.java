@@ -0,0 +1,89 @@
+package com.linkedin.coreservice.security;
+
+import com.linkedin.coreservice.entity.User;
+import com.linkedin.coreservice.event.UserChangedEvent;
+import com.linkedin.coreservice.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTest {
+    
+    private static final long JWT_EXPIRATION = TimeUnit.HOURS.toMillis(24);
+    
+    private UserService userService;
+    private TokenRevocationService revocationService;
+    
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        revocationService = new TokenRevocationService(userService, true, JWT_EXPIRATION);
+    }
+    
+    @Test
+    void tokensAreNotRevokedByDefault() {
+        assertFalse(revocationService.isRevoked(1L, new Date()));
+    }
+    
+    @Test
+    void revokesTokensIssuedBeforeRevocationOnly() {
+        long now = System.currentTimeMillis();
+        revocationService.revoke(1L);
+        
+        assertTrue(revocationService.isRevoked(1L, new Date(now - TimeUnit.MINUTES.toMillis(5))));
+        assertFalse(revocationService.isRevoked(1L, new Date(now + TimeUnit.SECONDS.toMillis(5))));
+        assertFalse(revocationService.isRevoked(2L, new Date(now - TimeUnit.MINUTES.toMillis(5))));
+    }
+    
+    @Test
+    void tokenIssuedInTheSecondOfRevocationIsRevoked() {
+        // iat has second precision, so a token issued just before revoke() carries a truncated time
+        long issuedAt = System.currentTimeMillis() / 1000 * 1000;
+        revocationService.revoke(1L);
+        
+        assertTrue(revocationService.isRevoked(1L, new Date(issuedAt)));
+    }
+    
+    @Test
+    void deactivationEventRevokesUser() {
+        User user = new User();
+        user.setId(3L);
+        user.setStatus(User.UserStatus.INACTIVE);
+        
+        revocationService.onUserChanged(new UserChangedEvent(user, UserChangedEvent.Type.UPDATED));
+        assertFalse(revocationService.isRevoked(3L, new Date(System.currentTimeMillis() - 1000)));
+        
+        revocationService.onUserChanged(new UserChangedEvent(user, UserChangedEvent.Type.DEACTIVATED));
+        assertTrue(revocationService.isRevoked(3L, new Date(System.currentTimeMillis() - 1000)));
+    }
+    
+    @Test
+    void refreshRevokesUsersDeactivatedElsewhere() {
+        when(userService.findDeactivatedUserIdsSince(any(LocalDateTime.class))).thenReturn(List.of(7L));
+        
+        revocationService.refresh();
+        
+        assertTrue(revocationService.isRevoked(7L, new Date(System.currentTimeMillis() - 1000)));
+        assertFalse(revocationService.isRevoked(8L, new Date(System.currentTimeMillis() - 1000)));
+    }
+    
+    @Test
+    void refreshIsSkippedOutsideStatelessMode() {
+        TokenRevocationService disabled = new TokenRevocationService(userService, false, JWT_EXPIRATION);
+        
+        disabled.refresh();
+        
+        verifyNoInteractions(userService);
+    }
+}
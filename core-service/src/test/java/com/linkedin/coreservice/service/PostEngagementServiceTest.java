@@ -0,0 +1,150 @@
+package com.linkedin.coreservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostEngagementServiceTest {
+    
+    private RecordingJdbcTemplate jdbcTemplate;
+    private PostEngagementService engagementService;
+    
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new RecordingJdbcTemplate();
+        engagementService = new PostEngagementService(jdbcTemplate, new NoOpTransactionManager(), 2, 1000);
+    }
+    
+    @Test
+    void unflushedDeltasAccumulateUntilFlushed() {
+        engagementService.record(1L, PostEngagementService.Counter.LIKES, 1);
+        engagementService.record(1L, PostEngagementService.Counter.LIKES, 1);
+        engagementService.record(1L, PostEngagementService.Counter.COMMENTS, 1);
+        engagementService.record(1L, PostEngagementService.Counter.LIKES, -1);
+        
+        assertDeltas(1, 1, 0, engagementService.getUnflushedDeltas(1L));
+        
+        engagementService.flush();
+        
+        assertEquals(1, jdbcTemplate.batches.size());
+        assertArrayEquals(new Object[]{1L, 1L, 0L, 1L}, jdbcTemplate.batches.get(0).get(0));
+        assertDeltas(0, 0, 0, engagementService.getUnflushedDeltas(1L));
+    }
+    
+    @Test
+    void flushesInBatchesOrderedByPostId() {
+        engagementService.record(5L, PostEngagementService.Counter.SHARES, 1);
+        engagementService.record(3L, PostEngagementService.Counter.SHARES, 1);
+        engagementService.record(1L, PostEngagementService.Counter.SHARES, 1);
+        
+        engagementService.flush();
+        
+        assertEquals(2, jdbcTemplate.batches.size());
+        assertEquals(List.of(1L, 3L), postIds(jdbcTemplate.batches.get(0)));
+        assertEquals(List.of(5L), postIds(jdbcTemplate.batches.get(1)));
+    }
+    
+    @Test
+    void failedFlushKeepsDeltasForTheNextFlush() {
+        engagementService.record(1L, PostEngagementService.Counter.LIKES, 3);
+        jdbcTemplate.failing = true;
+        
+        engagementService.flush();
+        
+        assertDeltas(3, 0, 0, engagementService.getUnflushedDeltas(1L));
+        
+        engagementService.record(1L, PostEngagementService.Counter.LIKES, 1);
+        jdbcTemplate.failing = false;
+        jdbcTemplate.batches.clear();
+        engagementService.flush();
+        
+        // The retried deltas go out once, merged with the ones recorded since
+        assertEquals(1, jdbcTemplate.batches.size());
+        assertArrayEquals(new Object[]{4L, 0L, 0L, 1L}, jdbcTemplate.batches.get(0).get(0));
+        assertDeltas(0, 0, 0, engagementService.getUnflushedDeltas(1L));
+    }
+    
+    @Test
+    void idlePostsAreDroppedAndNothingIsWrittenTwice() {
+        engagementService.record(1L, PostEngagementService.Counter.LIKES, 1);
+        engagementService.flush();
+        jdbcTemplate.batches.clear();
+        
+        engagementService.flush();
+        engagementService.flush();
+        
+        assertTrue(jdbcTemplate.batches.isEmpty());
+        assertSame(PostEngagementService.Deltas.NONE, engagementService.getUnflushedDeltas(1L));
+        
+        engagementService.record(1L, PostEngagementService.Counter.LIKES, 1);
+        engagementService.flush();
+        
+        assertEquals(1, jdbcTemplate.batches.size());
+        assertArrayEquals(new Object[]{1L, 0L, 0L, 1L}, jdbcTemplate.batches.get(0).get(0));
+    }
+    
+    @Test
+    void flushWithoutDeltasWritesNothing() {
+        engagementService.flush();
+        
+        assertTrue(jdbcTemplate.batches.isEmpty());
+    }
+    
+    private static void assertDeltas(long likes, long comments, long shares, PostEngagementService.Deltas deltas) {
+        assertEquals(likes, deltas.getLikes());
+        assertEquals(comments, deltas.getComments());
+        assertEquals(shares, deltas.getShares());
+    }
+    
+    private static List<Long> postIds(List<Object[]> batch) {
+        List<Long> ids = new ArrayList<>();
+        for (Object[] args : batch) {
+            ids.add((Long) args[3]);
+        }
+        return ids;
+    }
+    
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+        
+        private final List<List<Object[]>> batches = new ArrayList<>();
+        private boolean failing;
+        
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            if (failing) {
+                throw new DataAccessResourceFailureException("Connection refused");
+            }
+            batches.add(new ArrayList<>(batchArgs));
+            return new int[batchArgs.size()];
+        }
+    }
+    
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+        
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+        
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+        
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.linkedin.coreservice.service;
+
+import com.linkedin.coreservice.dto.UserCard;
+import com.linkedin.coreservice.entity.Post;
+import com.linkedin.coreservice.entity.User;
+import com.linkedin.coreservice.exception.PostNotFoundException;
+import com.linkedin.coreservice.repository.PostRepository;
+import com.linkedin.coreservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostServiceTest {
+    
+    private static final long AUTHOR_ID = 1L;
+    private static final long VIEWER_ID = 2L;
+    private static final long POST_ID = 10L;
+    
+    private PostRepository postRepository;
+    private GraphQueryService graphQueryService;
+    private TrackingTransactionManager transactionManager;
+    private PostService postService;
+    
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        graphQueryService = mock(GraphQueryService.class);
+        transactionManager = new TrackingTransactionManager();
+        
+        UserService userService = mock(UserService.class);
+        when(userService.findActiveCardsByIds(any())).thenReturn(List.of(
+                new UserCard(AUTHOR_ID, "jane@example.com", "Jane", "Doe", null, null, null, null,
+                        User.UserStatus.ACTIVE, null)));
+        PostEngagementService engagementService = mock(PostEngagementService.class);
+        when(engagementService.getUnflushedDeltas(any())).thenReturn(PostEngagementService.Deltas.NONE);
+        
+        postService = new PostService(postRepository, mock(UserRepository.class), userService, graphQueryService,
+                engagementService, mock(ApplicationEventPublisher.class), transactionManager);
+    }
+    
+    @Test
+    void connectionsOnlyPostIsCheckedOutsideTheTransaction() {
+        when(postRepository.findByIdAndStatus(POST_ID, Post.PostStatus.ACTIVE))
+                .thenReturn(Optional.of(post(Post.PostVisibility.CONNECTIONS)));
+        when(graphQueryService.isConnected(VIEWER_ID, AUTHOR_ID)).thenAnswer(invocation -> {
+            assertFalse(transactionManager.open, "graph service called inside a transaction");
+            return true;
+        });
+        
+        assertEquals(POST_ID, postService.getPost(POST_ID, VIEWER_ID).getId());
+        assertEquals(1, transactionManager.begun);
+    }
+    
+    @Test
+    void likeIsInsertedInsideTheTransaction() {
+        when(postRepository.findByIdAndStatus(POST_ID, Post.PostStatus.ACTIVE))
+                .thenReturn(Optional.of(post(Post.PostVisibility.CONNECTIONS)));
+        when(graphQueryService.isConnected(VIEWER_ID, AUTHOR_ID)).thenReturn(true);
+        when(postRepository.insertLike(VIEWER_ID, POST_ID)).thenAnswer(invocation -> {
+            assertTrue(transactionManager.open, "like inserted outside a transaction");
+            return 1;
+        });
+        
+        assertEquals(1, postService.likePost(POST_ID, VIEWER_ID));
+    }
+    
+    @Test
+    void postMadePrivateAfterTheCheckIsNotFound() {
+        when(postRepository.findByIdAndStatus(POST_ID, Post.PostStatus.ACTIVE))
+                .thenReturn(Optional.of(post(Post.PostVisibility.CONNECTIONS)))
+                .thenReturn(Optional.of(post(Post.PostVisibility.PRIVATE)));
+        when(graphQueryService.isConnected(VIEWER_ID, AUTHOR_ID)).thenReturn(true);
+        
+        assertThrows(PostNotFoundException.class, () -> postService.likePost(POST_ID, VIEWER_ID));
+        verify(postRepository, never()).insertLike(any(), any());
+    }
+    
+    @Test
+    void publicPostNeedsNoGraphCall() {
+        when(postRepository.findByIdAndStatus(POST_ID, Post.PostStatus.ACTIVE))
+                .thenReturn(Optional.of(post(Post.PostVisibility.PUBLIC)));
+        
+        postService.getPost(POST_ID, VIEWER_ID);
+        verify(graphQueryService, never()).isConnected(any(), any());
+    }
+    
+    private static Post post(Post.PostVisibility visibility) {
+        User author = new User();
+        author.setId(AUTHOR_ID);
+        Post post = new Post(author, "Hello", visibility);
+        post.setId(POST_ID);
+        return post;
+    }
+    
+    private static class TrackingTransactionManager implements PlatformTransactionManager {
+        
+        private boolean open;
+        private int begun;
+        
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            open = true;
+            begun++;
+            TransactionSynchronizationManager.initSynchronization();
+            return new SimpleTransactionStatus();
+        }
+        
+        @Override
+        public void commit(TransactionStatus status) {
+            TransactionSynchronizationManager.clearSynchronization();
+            open = false;
+        }
+        
+        @Override
+        public void rollback(TransactionStatus status) {
+            TransactionSynchronizationManager.clearSynchronization();
+            open = false;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.linkedin.coreservice.service;
+
+import com.linkedin.coreservice.dto.UserRegistrationRequest;
+import com.linkedin.coreservice.entity.User;
+import com.linkedin.coreservice.exception.EmailAlreadyExistsException;
+import com.linkedin.coreservice.exception.UserNotFoundException;
+import com.linkedin.coreservice.repository.UserRepository;
+import com.linkedin.coreservice.search.SearchHit;
+import com.linkedin.coreservice.search.SearchResult;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+    
+    private static final String EMAIL = "jane@example.com";
+    
+    private UserRepository userRepository;
+    private EmailBloomFilter emailBloomFilter;
+    private UserSearchService userSearchService;
+    private UserService userService;
+    
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        emailBloomFilter = mock(EmailBloomFilter.class);
+        userSearchService = mock(UserSearchService.class);
+        PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+        when(passwordHashingService.encode(any())).thenReturn("hash");
+        userService = new UserService(userRepository, passwordHashingService, mock(GraphSyncService.class),
+                mock(ApplicationEventPublisher.class), emailBloomFilter, userSearchService);
+    }
+    
+    @Test
+    void loginWithUnknownEmailFailsWithoutQuery() {
+        when(emailBloomFilter.mightContain(EMAIL)).thenReturn(false);
+        
+        assertThrows(UserNotFoundException.class, () -> userService.authenticate(EMAIL, "secret"));
+        verifyNoInteractions(userRepository);
+    }
+    
+    @Test
+    void loginWithPossiblyKnownEmailAsksTheDatabase() {
+        when(emailBloomFilter.mightContain(EMAIL)).thenReturn(true);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+        
+        assertThrows(UserNotFoundException.class, () -> userService.authenticate(EMAIL, "secret"));
+        verify(userRepository).findByEmail(EMAIL);
+    }
+    
+    @Test
+    void duplicateKeyOnInsertIsReportedAsExistingEmail() {
+        when(emailBloomFilter.mightContain(EMAIL)).thenReturn(false);
+        // A database baselined at V1 carries the unique key name Hibernate generated
+        when(userRepository.save(any(User.class))).thenThrow(integrityViolation(1062,
+                "Duplicate entry 'jane@example.com' for key 'users.UK6dotkott2kjsp8vw4d0m25fb7'"));
+        
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.createUser(registration()));
+    }
+    
+    @Test
+    void otherIntegrityViolationsPropagate() {
+        when(emailBloomFilter.mightContain(EMAIL)).thenReturn(false);
+        DataIntegrityViolationException violation = integrityViolation(1406, "Data too long for column 'headline'");
+        when(userRepository.save(any(User.class))).thenThrow(violation);
+        
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> userService.createUser(registration())));
+    }
+    
+    @Test
+    void searchedCursorPagesAreServedFromTheIndex() {
+        when(userSearchService.search("jane", null, null, UserSearchService.MAX_RESULT_WINDOW))
+                .thenReturn(new SearchResult(List.of(new SearchHit(7, 2.0), new SearchHit(3, 1.0)), 2));
+        when(userRepository.findCardsByIdInAndStatusAfterCursor(eq(List.of(7L, 3L)), eq(User.UserStatus.ACTIVE),
+                isNull(), isNull(), any())).thenReturn(List.of());
+        
+        userService.findActiveUsersAfter(null, null, "jane", "", 10);
+        verify(userRepository, never()).findCardsByStatusAndFiltersAfterCursor(any(), any(), any(), any(),
+                any(), any(), any());
+    }
+    
+    @Test
+    void searchedCursorPagesFallBackToSqlUntilTheIndexIsBuilt() {
+        when(userSearchService.search("jane", null, null, UserSearchService.MAX_RESULT_WINDOW)).thenReturn(null);
+        when(userRepository.findCardsByStatusAndFiltersAfterCursor(eq(User.UserStatus.ACTIVE), isNull(), isNull(),
+                eq("jane"), isNull(), isNull(), any())).thenReturn(List.of());
+        
+        userService.findActiveUsersAfter(null, null, "jane", "", 10);
+        verify(userRepository).findCardsByStatusAndFiltersAfterCursor(eq(User.UserStatus.ACTIVE), isNull(),
+                isNull(), eq("jane"), isNull(), isNull(), any());
+    }
+    
+    private static UserRegistrationRequest registration() {
+        return new UserRegistrationRequest(EMAIL, "secret123", "Jane", "Doe");
+    }
+    
+    // Shaped like Spring's translation of a Hibernate constraint violation from Connector/J
+    private static DataIntegrityViolationException integrityViolation(int errorCode, String message) {
+        SQLIntegrityConstraintViolationException cause = new SQLIntegrityConstraintViolationException(message, "23000", errorCode);
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", cause, null));
+    }
+}
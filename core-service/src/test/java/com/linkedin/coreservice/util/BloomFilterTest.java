@@ -0,0 +1,81 @@
+package com.linkedin.coreservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+    
+    @Test
+    void containsEveryInsertedValue() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+        
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"), "missing user" + i);
+        }
+    }
+    
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        
+        assertFalse(filter.mightContain("jane.doe@example.com"));
+        assertFalse(filter.mightContain(""));
+    }
+    
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put("member" + i + "@example.com");
+        }
+        
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("stranger" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1_500, "false positive rate " + falsePositives / 1000.0 + "%");
+    }
+    
+    @Test
+    void sizesBitsAndHashesForTheTargetRate() {
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+        
+        // About 9.6 bits and 7 hashes per element for 1%
+        assertTrue(filter.getBitCount() >= 9_585_059L && filter.getBitCount() < 9_585_059L + 64);
+        assertEquals(7, filter.getHashCount());
+    }
+    
+    @Test
+    void concurrentPutsAreNotLost() throws InterruptedException {
+        BloomFilter filter = new BloomFilter(80_000, 0.01);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t * 10_000;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    filter.put("user" + (offset + i) + "@example.com");
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        for (int i = 0; i < 80_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"), "missing user" + i);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.linkedin.coreservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+    
+    @Test
+    void roundTripsMicrosecondTimestamps() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 9, 17, 45, 12, 123_456_000);
+        
+        KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor(createdAt, 98765L).encode());
+        
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(98765L, decoded.getId());
+    }
+    
+    @Test
+    void roundTripsWholeSecondTimestamps() {
+        // LocalDateTime.toString() drops zero seconds and fractions entirely
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        
+        KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor(createdAt, 1L).encode());
+        
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(1L, decoded.getId());
+    }
+    
+    @Test
+    void encodesUrlSafeWithoutPadding() {
+        for (long id = 0; id < 64; id++) {
+            String cursor = new KeysetCursor(LocalDateTime.of(2024, 5, 17, 8, 30, 1, 999_999_000), id).encode();
+            assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="), cursor);
+        }
+    }
+    
+    @Test
+    void missingCursorStartsFromTheTop() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(""));
+        assertNull(KeysetCursor.decode("   "));
+    }
+    
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encodeRaw("2024-01-01T00:00")));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encodeRaw("yesterday|42")));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encodeRaw("2024-01-01T00:00|forty-two")));
+    }
+    
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
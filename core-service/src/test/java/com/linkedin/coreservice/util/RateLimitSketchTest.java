@@ -0,0 +1,76 @@
+package com.linkedin.coreservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitSketchTest {
+    
+    private static final long SECOND = 1_000_000_000L;
+    
+    @Test
+    void admitsBurstThenOnePermitPerEmissionInterval() {
+        RateLimitSketch sketch = new RateLimitSketch(4, 1024, 60, 5);
+        
+        for (int i = 0; i < 5; i++) {
+            assertTrue(sketch.tryAcquire("10.0.0.1", 0), "attempt " + i + " is within the burst");
+        }
+        assertFalse(sketch.tryAcquire("10.0.0.1", 0));
+        assertFalse(sketch.tryAcquire("10.0.0.1", SECOND / 2));
+        
+        assertTrue(sketch.tryAcquire("10.0.0.1", SECOND));
+        assertFalse(sketch.tryAcquire("10.0.0.1", SECOND));
+    }
+    
+    @Test
+    void fullyRefillsAfterIdlePeriod() {
+        RateLimitSketch sketch = new RateLimitSketch(4, 1024, 60, 3);
+        for (int i = 0; i < 3; i++) {
+            sketch.tryAcquire("alice@example.com", 0);
+        }
+        assertFalse(sketch.tryAcquire("alice@example.com", 0));
+        
+        for (int i = 0; i < 3; i++) {
+            assertTrue(sketch.tryAcquire("alice@example.com", 60 * SECOND));
+        }
+    }
+    
+    @Test
+    void keysWithEqualHashCodesAreLimitedSeparately() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        RateLimitSketch sketch = new RateLimitSketch(4, 16384, 60, 2);
+        
+        assertTrue(sketch.tryAcquire("Aa", 0));
+        assertTrue(sketch.tryAcquire("Aa", 0));
+        assertFalse(sketch.tryAcquire("Aa", 0));
+        
+        assertTrue(sketch.tryAcquire("BB", 0));
+    }
+    
+    @Test
+    void heavyKeyDoesNotThrottleOtherKeys() {
+        RateLimitSketch sketch = new RateLimitSketch(4, 16384, 60, 1);
+        for (int i = 0; i < 1000; i++) {
+            sketch.tryAcquire("198.51.100.7", 0);
+        }
+        
+        int admitted = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (sketch.tryAcquire("user" + i + "@example.com", 0)) {
+                admitted++;
+            }
+        }
+        assertEquals(1000, admitted);
+    }
+    
+    @Test
+    void rejectsNonPositiveParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitSketch(0, 1024, 60, 5));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitSketch(4, 0, 60, 5));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitSketch(4, 1024, 0, 5));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitSketch(4, 1024, 60, 0));
+    }
+}
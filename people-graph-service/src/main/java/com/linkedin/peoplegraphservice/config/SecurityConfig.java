@@ -1,11 +1,17 @@
 package com.linkedin.peoplegraphservice.config;
 
+import com.linkedin.peoplegraphservice.security.JwtAuthenticationFilter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -16,21 +22,37 @@ import java.util.Arrays;
 @EnableWebSecurity
 public class SecurityConfig {
     
+    // Carried by the service tokens core-service mints for its own calls
+    private static final String SERVICE_ROLE = "ROLE_SERVICE";
+    
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    
+    @Autowired
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+    }
+    
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.cors().and().csrf().disable()
+                .exceptionHandling().authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)).and()
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
                 .authorizeHttpRequests(authz -> authz
                         // Health endpoints
                         .requestMatchers("/actuator/health", "/actuator/info").permitAll()
                         .requestMatchers("/api/health").permitAll()
                         .requestMatchers("/error").permitAll()
+                        // A user's full connection list is only handed to other services
+                        .requestMatchers(HttpMethod.GET, "/api/graph/users/*/connection-ids").hasAuthority(SERVICE_ROLE)
                         // Graph sync endpoints - should be secured in production
                         .requestMatchers("/api/graph/sync/**").permitAll()
-                        // All other endpoints require authentication (would be handled by JWT in production)
-                        .anyRequest().permitAll() // For simplicity, allowing all requests
+                        // All other endpoints require a token issued by core-service
+                        .anyRequest().authenticated()
                 );
         
+        // Tokens are verified locally, without a call to core-service
+        http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        
         return http.build();
     }
     
@@ -280,6 +280,27 @@ public class GraphController {
         }
     }
     
+    // Used by core-service to fan posts out to, and build feeds from, a user's connections;
+    // restricted to service tokens in SecurityConfig
+    @GetMapping("/users/{userId}/connection-ids")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getConnectionIds(
+            @PathVariable Long userId) {
+        
+        try {
+            List<Long> connectionIds = graphService.getConnectionIds(userId);
+            
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("connectionIds", connectionIds);
+            
+            return ResponseEntity.ok(ApiResponse.success("Connection ids retrieved successfully", responseData));
+            
+        } catch (Exception e) {
+            logger.error("Failed to get connection ids for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Internal server error"));
+        }
+    }
+    
     @PostMapping("/sync/company")
     public ResponseEntity<ApiResponse<Map<String, Object>>> syncCompany(
             @RequestBody Map<String, Object> companyData) {
@@ -56,6 +56,11 @@ public interface UserNodeRepository extends Neo4jRepository<UserNode, Long> {
            "RETURN count(connected)")
     Integer getConnectionCount(@Param("userId") Long userId);
     
+    // Ids only, so callers that build feeds do not map whole nodes
+    @Query("MATCH (u:User {id: $userId})-[:CONNECTED_TO]-(connected:User) " +
+           "RETURN DISTINCT connected.id")
+    List<Long> findConnectionIds(@Param("userId") Long userId);
+    
     // Get mutual connections between two users
     @Query("MATCH (u1:User {id: $userId1})-[:CONNECTED_TO]-(mutual:User)-[:CONNECTED_TO]-(u2:User {id: $userId2}) " +
            "WHERE u1.id <> u2.id " +
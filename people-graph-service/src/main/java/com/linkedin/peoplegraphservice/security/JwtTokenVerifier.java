@@ -0,0 +1,123 @@
+package com.linkedin.peoplegraphservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+
+// Checks tokens issued by core-service against the shared signing key, so authenticating a
+// request never calls back into core-service. A page of the UI calls the graph endpoints
+// many times with one bearer token; the principal and authorities read from it are kept
+// and reused until the token's exp instead of being parsed out of the token again.
+@Component
+public class JwtTokenVerifier {
+    
+    private final JwtParser jwtParser;
+    
+    // Keyed by a SHA-256 of the whole token: a hit requires the exact header, payload and
+    // signature that were verified, not just a signature seen on some other token
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    
+    public JwtTokenVerifier(@Value("${jwt.secret}") String secret,
+                            @Value("${jwt.verified-cache.max-size:100000}") long maxSize,
+                            @Value("${jwt.verified-cache.max-age:600000}") long maxAgeMillis) {
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes()))
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(maxAgeMillis))
+                .build();
+    }
+    
+    // Throws io.jsonwebtoken.JwtException when the token is invalid or expired
+    public VerifiedToken verify(String token) {
+        String key = cacheKey(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(key);
+        if (verified != null && !verified.isExpired()) {
+            return verified;
+        }
+        
+        // A cached token past its exp is parsed again, which rejects it
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        verified = new VerifiedToken(new AuthenticatedUser(extractUserId(claims), claims.getSubject()),
+                extractAuthorities(claims), claims.getExpiration());
+        if (verified.expiresAt != null) {
+            verifiedTokens.put(key, verified);
+        }
+        return verified;
+    }
+    
+    private static String cacheKey(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    private static Long extractUserId(Claims claims) {
+        Object userId = claims.get("userId");
+        if (userId instanceof Number number) {
+            return number.longValue();
+        } else if (userId instanceof String value) {
+            return Long.parseLong(value);
+        }
+        return null;
+    }
+    
+    private static List<GrantedAuthority> extractAuthorities(Claims claims) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (claims.get("roles") instanceof Collection<?> roles) {
+            for (Object role : roles) {
+                authorities.add(new SimpleGrantedAuthority(role.toString()));
+            }
+        }
+        if (authorities.isEmpty()) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
+        }
+        return List.copyOf(authorities);
+    }
+    
+    public static final class VerifiedToken {
+        
+        private final AuthenticatedUser principal;
+        private final List<GrantedAuthority> authorities;
+        private final Date expiresAt;
+        
+        VerifiedToken(AuthenticatedUser principal, List<GrantedAuthority> authorities, Date expiresAt) {
+            this.principal = principal;
+            this.authorities = authorities;
+            this.expiresAt = expiresAt;
+        }
+        
+        public AuthenticatedUser getPrincipal() {
+            return principal;
+        }
+        
+        public List<GrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+        
+        boolean isExpired() {
+            return expiresAt.getTime() <= System.currentTimeMillis();
+        }
+    }
+}
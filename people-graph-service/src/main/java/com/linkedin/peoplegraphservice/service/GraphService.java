@@ -163,6 +163,13 @@ public class GraphService {
         return count != null ? count : 0;
     }
     
+    @Transactional(readOnly = true)
+    public List<Long> getConnectionIds(Long userId) {
+        logger.debug("Getting connection ids for user: {}", userId);
+        
+        return userRepository.findConnectionIds(userId);
+    }
+    
     @Transactional(readOnly = true)
     public List<ConnectionSuggestion> getMutualConnections(Long userId1, Long userId2) {
         logger.info("Getting mutual connections between users {} and {}", userId1, userId2);